@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc;
+
+import java.lang.annotation.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 响应缓存，与 @HttpHandler 一起用在方法上，只缓存 GET/HEAD 的 200 响应。
+ * 命中时直接返回序列化后的响应体，不解析参数也不调用方法。
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Cacheable {
+
+    //缓存名，注入 ResponseCaches 后按名失效；默认是路由完整路径
+    String name() default "";
+
+    //存活时间
+    long ttl() default 5;
+
+    TimeUnit unit() default TimeUnit.SECONDS;
+
+    //最大条目数，超出后淘汰最久未访问的
+    int maxEntries() default 1024;
+
+    //组成缓存键的请求参数，为空时使用全部查询参数
+    String[] keyParams() default {};
+
+    //组成缓存键的请求头，如 Accept-Language
+    String[] varyHeaders() default {};
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.lcnap.vertx.webmvc;
+
+import java.lang.annotation.*;
+
+/**
+ * 路由级响应压缩，与 @HttpHandler 一起用在方法或类上，方法上的优先。
+ * 没有该注解时沿用 HttpServerOptions 的全局设置。
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Compression {
+
+    //false 时不压缩，即使全局开启了压缩
+    boolean enabled() default true;
+
+    //响应体小于该字节数时不压缩
+    int minSize() default 1024;
+
+    //按优先级排列，可选 br、gzip、deflate；br 需要 classpath 上有 brotli4j
+    String[] algorithms() default {"br", "gzip", "deflate"};
+
+    //gzip/deflate 压缩级别 1-9
+    int level() default 6;
+
+    //按响应内容哈希缓存压缩结果，适合返回内容重复的幂等接口
+    boolean cache() default false;
+
+    //缓存条数
+    int cacheSize() default 256;
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.ext.web.client.HttpRequest;
+import io.vertx.ext.web.client.HttpResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 请求截止时间，来自 @HttpHandler 的 timeout 与请求头 X-Request-Timeout（毫秒），取较早者。
+ * 业务方法声明 Deadline 参数即可读取剩余时间，并通过 send 在截止时间内调用下游 WebClient 请求。
+ * 到期时框架返回 503（路由超时）或 504（客户端截止时间），中断执行阻塞方法的线程、不再等待方法返回的 Future，
+ * 并执行 onExpire 注册的回调。
+ */
+public class Deadline {
+
+    public final static String HEADER = "X-Request-Timeout";
+
+    public final static String KEY = "webmvc.deadline";
+
+    private final static Deadline NONE = new Deadline(Long.MAX_VALUE, false);
+
+    private final long expiresAt;
+
+    private final boolean fromClient;
+
+    private final List<Runnable> cancellations = new ArrayList<>(1);
+
+    private Thread worker;
+
+    private boolean expired;
+
+    private Deadline(long expiresAt, boolean fromClient) {
+        this.expiresAt = expiresAt;
+        this.fromClient = fromClient;
+    }
+
+    /**
+     * timeoutMillis 从现在开始计算；fromClient 表示截止时间来自请求头。
+     */
+    public static Deadline of(long timeoutMillis, boolean fromClient) {
+        return new Deadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis), fromClient);
+    }
+
+    //没有截止时间
+    public static Deadline none() {
+        return NONE;
+    }
+
+    public boolean isNone() {
+        return this == NONE;
+    }
+
+    //剩余毫秒数，没有截止时间时为 Long.MAX_VALUE
+    public long remaining() {
+        if (isNone()) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(expiresAt - System.nanoTime()));
+    }
+
+    public boolean fromClient() {
+        return fromClient;
+    }
+
+    public synchronized boolean expired() {
+        return expired;
+    }
+
+    /**
+     * 通过请求头继续传递截止时间，并把下游请求的 idleTimeout 设为剩余时间。
+     * idleTimeout 只限制两次读写的间隔，不是整个请求的时限，需要整体时限时用 send。
+     */
+    public <T> HttpRequest<T> apply(HttpRequest<T> request) {
+        if (isNone()) {
+            return request;
+        }
+        long remaining = Math.max(1, remaining());
+        return request.idleTimeout(remaining).putHeader(HEADER, String.valueOf(remaining));
+    }
+
+    /**
+     * 发送下游请求，到期时返回的 Future 以 ServerException 失败，不再等待下游响应。
+     */
+    public <T> Future<HttpResponse<T>> send(HttpRequest<T> request) {
+        return limit(apply(request).send());
+    }
+
+    /**
+     * 返回的 Future 在 future 完成或截止时间到期时完成，先到者有效；到期时以 ServerException 失败。
+     */
+    public <T> Future<T> limit(Future<T> future) {
+        if (isNone() || future.isComplete()) {
+            return future;
+        }
+        Promise<T> promise = Promise.promise();
+        future.onComplete(ar -> {
+            if (ar.succeeded()) {
+                promise.tryComplete(ar.result());
+            } else {
+                promise.tryFail(ar.cause());
+            }
+        });
+        onExpire(() -> promise.tryFail(new ServerException("deadline exceeded.")));
+        return promise.future();
+    }
+
+    /**
+     * 到期时执行，如取消下游调用；已到期则立即执行。
+     */
+    public void onExpire(Runnable cancellation) {
+        synchronized (this) {
+            if (!expired) {
+                cancellations.add(cancellation);
+                return;
+            }
+        }
+        cancellation.run();
+    }
+
+    //以下由框架调用
+
+    //绑定执行阻塞方法的线程，已到期时返回 false
+    public synchronized boolean bind(Thread thread) {
+        if (expired) {
+            return false;
+        }
+        worker = thread;
+        return true;
+    }
+
+    //解除绑定，并清除到期时设置的中断标记，避免影响 worker 线程的下一个任务
+    public void unbind() {
+        boolean interrupted;
+        synchronized (this) {
+            worker = null;
+            interrupted = expired;
+        }
+        if (interrupted) {
+            Thread.interrupted();
+        }
+    }
+
+    public void expire() {
+        List<Runnable> toRun;
+        synchronized (this) {
+            if (expired) {
+                return;
+            }
+            expired = true;
+            if (worker != null) {
+                worker.interrupt();
+            }
+            toRun = new ArrayList<>(cancellations);
+            cancellations.clear();
+        }
+        toRun.forEach(Runnable::run);
+    }
+}
@@ -34,4 +34,19 @@ public @interface HttpHandler {
 
     boolean isBlocking() default false;
 
+    //非空时通过 event bus 的该地址执行方法，消费者可以在其他 JVM，见 EventBusOffload
+    String address() default "";
+
+    //实例作用域，只在类上有效
+    Scope scope() default Scope.SINGLETON;
+
+    //超时毫秒数，0 表示不限制；到期返回 503，请求头 X-Request-Timeout 更早到期时返回 504
+    long timeout() default 0;
+
+    //合并相同键的并发 GET/HEAD 请求，只调用一次方法，其余请求共享响应
+    boolean coalesce() default false;
+
+    //组成合并键的请求参数，为空时使用全部查询参数
+    String[] coalesceParams() default {};
+
 }
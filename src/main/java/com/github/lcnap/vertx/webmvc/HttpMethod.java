@@ -17,5 +17,5 @@
 package com.github.lcnap.vertx.webmvc;
 
 public enum HttpMethod {
-    GET, POST
+    GET, POST, HEAD
 }
@@ -0,0 +1,26 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc;
+
+/**
+ * 推送订阅者的写队列已满（消费慢）时的处理方式。
+ */
+public enum Overflow {
+    //丢弃本条消息，连接保留
+    DROP,
+    //断开连接，由客户端重连
+    DISCONNECT
+}
@@ -34,7 +34,7 @@ public @interface Param {
     //日期、字符串格式化
     String format() default "";
 
-    //字符串或列表size最大值
+    //字符串、列表或数组的size最大值；多值参数在解析时检查，超出时不做转换
     int size() default 0;
 
     //值范围
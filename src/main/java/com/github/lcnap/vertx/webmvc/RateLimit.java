@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc;
+
+import java.lang.annotation.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 限流，与 @HttpHandler 一起用在方法或类上，方法上的优先；用在类上时每个方法各自计数。
+ * 没有该注解时使用 http-server.json 中的 rateLimit 配置（如有）。
+ * 超出限制的请求在解析请求体之前返回 429 与 Retry-After。
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RateLimit {
+
+    //每个周期允许的请求数
+    long permits();
+
+    long period() default 1;
+
+    TimeUnit unit() default TimeUnit.SECONDS;
+
+    //允许的突发请求数，0 表示等于 permits
+    long burst() default 0;
+
+    //按什么计数
+    By by() default By.ADDRESS;
+
+    //by = HEADER 时使用的请求头，缺失时按客户端地址计数
+    String header() default "X-Api-Key";
+
+    //最多跟踪的键数，超出后新键挤掉最久没有请求的键
+    int maxKeys() default 10000;
+
+    enum By {
+        //整个路由共用
+        ROUTE,
+        //客户端地址
+        ADDRESS,
+        //请求头，如 API key
+        HEADER
+    }
+}
@@ -0,0 +1,26 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc;
+
+/**
+ * 业务类实例的作用域，在类上的 @HttpHandler 中配置。
+ */
+public enum Scope {
+    //每个类一个实例，所有线程共享
+    SINGLETON,
+    //每个 event loop 一个实例，实例内的状态无需加锁；不能用于 isBlocking 的方法
+    EVENT_LOOP
+}
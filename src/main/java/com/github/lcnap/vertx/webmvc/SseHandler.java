@@ -0,0 +1,38 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc;
+
+import java.lang.annotation.*;
+
+/**
+ * Server-Sent Events 端点。连接建立时调用方法（参数绑定与 @HttpHandler 相同，在 event loop 上执行），
+ * 返回的字符串为订阅的主题，返回 null 或 void 时使用 topic()，再为空时使用路由路径；抛出 ClientException 拒绝订阅。
+ * 消息通过 Broadcaster.publish 推送，见 push 包。
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SseHandler {
+
+    String path();
+
+    String topic() default "";
+
+    //每个订阅者的写队列上限（字节）
+    int bufferSize() default 64 * 1024;
+
+    Overflow overflow() default Overflow.DROP;
+}
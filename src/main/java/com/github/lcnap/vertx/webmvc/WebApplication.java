@@ -27,5 +27,25 @@ public interface WebApplication {
         return new WebApplicationImpl(vertx, appClass).run();
     }
 
+    /**
+     * 由框架按 http-server.json 的 vertx 节点创建 Vertx（含原生传输选择）。
+     */
+    static Future<HttpServer> run(Class<?> appClass) throws RuntimeException {
+        return WebApplicationImpl.create(appClass).run();
+    }
+
+    /**
+     * 排空后停止：readiness 返回 503，停止接受新连接，等待在途请求完成（不超过 gracePeriod），输出指标后关闭 Vertx。
+     */
     void stop();
+
+    State state();
+
+    enum State {
+        STARTING,
+        READY,
+        //停机排空中，不再接受新连接
+        DRAINING,
+        STOPPED
+    }
 }
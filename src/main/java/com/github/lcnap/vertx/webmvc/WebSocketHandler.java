@@ -0,0 +1,37 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc;
+
+import java.lang.annotation.*;
+
+/**
+ * WebSocket 推送端点，订阅规则与 @SseHandler 相同：握手前调用方法确定主题，之后按文本帧推送主题上的消息。
+ * 客户端发来的消息忽略。
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface WebSocketHandler {
+
+    String path();
+
+    String topic() default "";
+
+    //每个订阅者的写队列上限（字节）
+    int bufferSize() default 64 * 1024;
+
+    Overflow overflow() default Overflow.DROP;
+}
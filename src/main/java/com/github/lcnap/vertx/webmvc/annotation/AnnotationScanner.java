@@ -17,35 +17,82 @@
 package com.github.lcnap.vertx.webmvc.annotation;
 
 import com.github.lcnap.vertx.webmvc.*;
+import com.github.lcnap.vertx.webmvc.cache.CachedResponse;
+import com.github.lcnap.vertx.webmvc.cache.ResponseCache;
+import com.github.lcnap.vertx.webmvc.cache.ResponseCaches;
+import com.github.lcnap.vertx.webmvc.cache.SingleFlight;
+import com.github.lcnap.vertx.webmvc.compression.ResponseCompressor;
+import com.github.lcnap.vertx.webmvc.format.WireFormat;
+import com.github.lcnap.vertx.webmvc.handler.ConcurrencyLimitHandler;
+import com.github.lcnap.vertx.webmvc.handler.DeadlineHandler;
+import com.github.lcnap.vertx.webmvc.handler.RateLimitHandler;
 import com.github.lcnap.vertx.webmvc.handler.ShareMdcBlockingHandlerWrapper;
 import com.github.lcnap.vertx.webmvc.impl.WebApplicationImpl;
+import com.github.lcnap.vertx.webmvc.metrics.RouteCost;
+import com.github.lcnap.vertx.webmvc.metrics.RouteCosts;
+import com.github.lcnap.vertx.webmvc.metrics.RouteStats;
+import com.github.lcnap.vertx.webmvc.offload.EventBusOffload;
+import com.github.lcnap.vertx.webmvc.push.Broadcaster;
+import com.github.lcnap.vertx.webmvc.stream.RequestBodyStreams;
+import com.github.lcnap.vertx.webmvc.stream.StreamingResponse;
+import com.github.lcnap.vertx.webmvc.template.TemplateRenderer;
 import com.github.lcnap.vertx.webmvc.utils.Reflection;
 import com.github.lcnap.vertx.webmvc.utils.TypeConverter;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.Json;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.Route;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
-import io.vertx.ext.web.common.template.TemplateEngine;
+import io.vertx.ext.web.client.WebClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.*;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 public class AnnotationScanner {
     private final static Logger logger = LoggerFactory.getLogger(AnnotationScanner.class);
 
+    //本次请求协商出的响应格式
+    private final static String FORMAT_KEY = "webmvc.format";
+
     WebApplicationImpl application;
 
+    private final HandlerInstances handlerInstances;
+
+    //首个 address 路由出现时创建
+    private EventBusOffload offload;
+
+    //配置了 batch 节点时创建
+    private BatchDispatcher batch;
+
+    //自动卸载到虚拟线程时创建
+    private ExecutorService virtualThreads;
+
+    //扫描到的全部路由，用于预热
+    private final List<RoutePlan> plans = new ArrayList<>();
+
+    //共用一个定时器清除已回满的桶
+    private final List<RateLimitHandler> rateLimitHandlers = new ArrayList<>();
+
     public AnnotationScanner(WebApplicationImpl application) {
         this.application = application;
+        this.handlerInstances = new HandlerInstances(application);
     }
 
     //扫描业务类
@@ -55,47 +102,134 @@ public class AnnotationScanner {
             Set<Class<?>> handlerClass =
                     Reflection.findHandlerClass(pkg);
 
+            //批量路由先于业务路由挂载，避免被类路径为空的子路由拦截
+            JsonObject batchConfig = this.application.config().getJsonObject("batch");
+            if (batchConfig != null) {
+                this.batch = new BatchDispatcher(this, this.application.vertx(), batchConfig);
+                //批量请求本身按全局配置限流，其中每一项再计入所在路由的限流。
+                //与业务路由一样，限流与截止时间放在前置路由上，BodyHandler 在批量路由的最前
+                String batchPath = BatchDispatcher.path(batchConfig);
+                this.application.rootRouter().post(batchPath)
+                        .handler(globalRateLimitHandler())
+                        .handler(DeadlineHandler.create(BatchDispatcher.timeout(batchConfig)));
+                this.application.rootRouter().post(batchPath)
+                        .handler(this.application.bodyHandler())
+                        .handler(this.batch);
+            }
+
             for (Class<?> a : handlerClass) {
 
                 Router classRouter = Router.router(this.application.vertx());
 
+                //类上的注解，只有path、scope有效
+                HttpHandler classHttpHandler = a.getAnnotation(HttpHandler.class);
+                String classPath = classHttpHandler != null ? classHttpHandler.path() : "";
+                Scope scope = classHttpHandler != null ? classHttpHandler.scope() : Scope.SINGLETON;
+                //每个类只创建一个实例（或每个 event loop 一个）
+                Supplier<Object> instance = this.handlerInstances.create(a, scope);
+
                 Method[] methods = a.getDeclaredMethods();
                 for (Method method : methods) {
                     HttpHandler annotation = method.getAnnotation(HttpHandler.class);
                     if (annotation != null) {
                         //todo 解析方法所需参数。
-                        Handler<RoutingContext> handler = proxyHandler(a, method, annotation);
+                        if (scope == Scope.EVENT_LOOP && annotation.isBlocking()) {
+                            throw new ServerException("isBlocking is not allowed with Scope.EVENT_LOOP: " + method);
+                        }
+                        RoutePlan plan = plan(a, method, instance, annotation, classPath);
+                        plans.add(plan);
+                        //转发到 event bus 时本节点只绑定参数，不占用 worker
+                        boolean offloaded = !annotation.address().isEmpty();
+                        Handler<RoutingContext> handler;
+                        if (offloaded) {
+                            EventBusOffload.check(method);
+                            offload().register(plan);
+                            handler = forwardHandler(plan);
+                        } else {
+                            //EVENT_LOOP 作用域的实例与流式请求体只能在 event loop 上使用，不参与自动卸载
+                            handler = proxyHandler(plan, scope != Scope.EVENT_LOOP && !RequestBodyStreams.isStreamingBody(method));
+                        }
 
                         String path = annotation.path();
-                        HttpMethod[] httpMethods = annotation.method();
-                        Route route;
+
+                        //前置路由，与方法路由的路径、方法相同，放不读取请求体的 handler。
+                        //vertx 要求 BodyHandler 在同一路由的用户 handler 之前，所以分成两个路由，前置 handler 调用 next 后进入方法路由
+                        Route guard = route(classRouter, annotation.method(), path);
+
+                        //限流在最前，超限的请求不做任何解析
+                        RateLimitHandler rateLimitHandler = rateLimitHandler(a, method);
+                        guard.handler(rateLimitHandler);
+
+                        //截止时间从这里开始计算
+                        guard.handler(DeadlineHandler.create(annotation.timeout()));
+
+                        //缓存命中时直接返回，不读取请求体
+                        if (plan.cache() != null) {
+                            guard.handler(rc -> serveCached(rc, plan));
+                        }
+
+                        //相同请求只执行一次
+                        if (plan.singleFlight() != null) {
+                            guard.handler(rc -> coalesce(rc, plan));
+                        }
 
                         //方法路由
-                        if (httpMethods.length != 1) {
-                            route = classRouter.route(path);
+                        Route route = route(classRouter, annotation.method(), path);
+
+                        //流式请求体不经过 BodyHandler
+                        if (RequestBodyStreams.isStreamingBody(method)) {
+                            if (!annotation.isBlocking() && RequestBodyStreams.hasBlockingStream(method)) {
+                                throw new ServerException("Stream body parameter requires isBlocking = true: " + method);
+                            }
+                            route.handler(RequestBodyStreams::pause);
                         } else {
-                            route = classRouter.route(
-                                    io.vertx.core.http.HttpMethod.valueOf(String.valueOf(httpMethods[0])),
-                                    path);
+                            route.handler(this.application.bodyHandler());
                         }
 
-
-                        if (annotation.isBlocking()) {
+                        ConcurrencyLimitHandler limitHandler = null;
+                        if (annotation.isBlocking() && !offloaded) {
+                            //按耗时自适应限制并发，避免请求在 worker 队列中堆积；没有配置时不限制，运行时可开启
+                            limitHandler = ConcurrencyLimitHandler.create(plan.path(),
+                                    this.application.config().getJsonObject("concurrencyLimit"));
+                            this.application.runtimeConfig().onChange("concurrencyLimit", limitHandler::reconfigure);
+                            route.handler(limitHandler);
+                            handler = ConcurrencyLimitHandler.around(handler);
                             route.blockingHandler(new ShareMdcBlockingHandlerWrapper(handler));
                         } else {
                             route.handler(handler);
                         }
 
+                        //批量请求中的项与路由共用限流与并发限制
+                        if (this.batch != null) {
+                            this.batch.register(plan, rateLimitHandler, limitHandler);
+                        }
+
+
+                    }
 
+                    //推送端点
+                    SseHandler sse = method.getAnnotation(SseHandler.class);
+                    if (sse != null) {
+                        pushRoute(classRouter, a, method, instance, classPath, sse.path(), sse.topic(),
+                                (rc, topic) -> this.application.broadcaster()
+                                        .subscribe(topic, rc.response(), sse.bufferSize(), sse.overflow()));
+                    }
+                    WebSocketHandler webSocket = method.getAnnotation(WebSocketHandler.class);
+                    if (webSocket != null) {
+                        pushRoute(classRouter, a, method, instance, classPath, webSocket.path(), webSocket.topic(),
+                                (rc, topic) -> rc.request().toWebSocket()
+                                        .onSuccess(ws -> this.application.broadcaster()
+                                                .subscribe(topic, ws, webSocket.bufferSize(), webSocket.overflow()))
+                                        .onFailure(rc::fail));
                     }
                 }
 
-                //类上的注解，只有path有效
-                HttpHandler classHttpHandler = a.getAnnotation(HttpHandler.class);
-                String path = classHttpHandler != null ? classHttpHandler.path() : "";
-                this.application.rootRouter().route(path + "/*").subRouter(classRouter);
+                this.application.rootRouter().route(classPath + "/*").subRouter(classRouter);
             }
 
+            if (!rateLimitHandlers.isEmpty()) {
+                RateLimitHandler.sweepPeriodically(this.application.vertx(), rateLimitHandlers);
+            }
 
         } catch (Exception e) {
             logger.error("scan handler failed.", e);
@@ -103,31 +237,283 @@ public class AnnotationScanner {
         }
     }
 
-    private Handler<RoutingContext> proxyHandler(Class<?> a, Method method, HttpHandler annotation) throws NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException {
-        Parameter[] parameters = method.getParameters();
+    private static Route route(Router router, HttpMethod[] httpMethods, String path) {
+        if (httpMethods.length != 1) {
+            return router.route(path);
+        }
+        return router.route(io.vertx.core.http.HttpMethod.valueOf(String.valueOf(httpMethods[0])), path);
+    }
+
+    public List<RoutePlan> plans() {
+        return plans;
+    }
 
-        Constructor<?> declaredConstructor = a.getDeclaredConstructor();
-        Object o = declaredConstructor.newInstance();
+    //连接建立时在 event loop 上调用方法确定主题，之后交给 Broadcaster
+    private void pushRoute(Router classRouter, Class<?> a, Method method, Supplier<Object> instance, String classPath,
+                           String path, String topic, BiConsumer<RoutingContext, String> subscribe) {
+        Parameter[] parameters = method.getParameters();
+        boolean binding = needsBinding(parameters);
+        String defaultTopic = topic.isEmpty() ? classPath + path : topic;
 
-        Handler<RoutingContext> handler = rc -> {
+        Route route = classRouter.get(path);
+        route.handler(rateLimitHandler(a, method));
+        route.handler(rc -> {
             try {
-                //before
-                Object[] args = parseArgs(parameters, rc);
-                //handler
-                //checkArg(args);
-                Object invoke = method.invoke(o, args);
-                //after
-                parseReturnValue(rc, invoke, annotation);
+                Object[] args = parseArgs(parameters, rc, ParamSource.of(rc), binding);
+                Object result = method.invoke(instance.get(), args);
+                subscribe.accept(rc, result instanceof String selected ? selected : defaultTopic);
             } catch (ClientException | ServerException e) {
                 throw e;
+            } catch (InvocationTargetException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : new RuntimeException("uncheck exception.", e.getCause());
             } catch (Exception e) {
                 throw new RuntimeException("uncheck exception.", e);
             }
+        });
+    }
+
+    private RoutePlan plan(Class<?> a, Method method, Supplier<Object> instance, HttpHandler annotation, String classPath) {
+        String path = classPath + annotation.path();
 
+        ResponseCache cache = null;
+        Cacheable cacheable = method.getAnnotation(Cacheable.class);
+        if (cacheable != null) {
+            String name = cacheable.name().isEmpty() ? path : cacheable.name();
+            cache = this.application.responseCaches().register(name, cacheable);
+        }
+        RoutePlan plan = new RoutePlan(a, method, instance, annotation, path, compressor(a, method), cache);
+        //有 text/html 路由时才加载模板引擎，在启动阶段完成
+        if (plan.output() == RoutePlan.Output.HTML) {
+            this.application.templateRenderer();
+        }
+        return plan;
+    }
+
+    private Handler<RoutingContext> proxyHandler(RoutePlan plan, boolean adaptive) {
+        //配置了 cost 节点时记录 CPU 与分配
+        RouteCosts costs = this.application.routeCosts();
+        RouteCost cost = costs != null ? costs.register(plan.path()) : null;
+        if (plan.annotation().isBlocking()) {
+            return rc -> invoke(rc, plan, null, cost, true);
+        }
+        //只统计在 event loop 上执行的方法
+        RouteStats stats = this.application.eventLoopMonitor().register(plan.path(), adaptive);
+        if (stats.policy() == null) {
+            return rc -> invoke(rc, plan, stats, cost, false);
+        }
+        //持续超出预算时改到 worker 执行，变快后回到 event loop
+        Handler<RoutingContext> offloaded = new ShareMdcBlockingHandlerWrapper(rc -> invoke(rc, plan, stats, cost, true));
+        boolean virtual = stats.policy().virtual();
+        return rc -> {
+            if (stats.offloaded()) {
+                autoOffload(rc, offloaded, virtual);
+            } else {
+                invoke(rc, plan, stats, cost, false);
+            }
+        };
+    }
+
+    private void invoke(RoutingContext rc, RoutePlan plan, RouteStats stats, RouteCost cost, boolean blocking) {
+        //已超时
+        if (rc.response().ended()) {
+            return;
+        }
+        //阻塞方法绑定当前线程，到期时中断
+        Deadline deadline = rc.get(Deadline.KEY);
+        boolean bound = blocking && deadline != null && deadline.bind(Thread.currentThread());
+        long start = stats != null ? System.nanoTime() : 0;
+        if (cost != null) {
+            cost.begin();
+        }
+        try {
+            //before
+            Object[] args = parseArgs(plan.parameters(), rc, ParamSource.of(rc), plan.binding());
+            if (cost != null) {
+                cost.phase(RouteCost.Phase.BINDING);
+            }
+            //handler
+            //checkArg(args);
+            Object invoke = plan.method().invoke(plan.instance(), args);
+            if (cost != null) {
+                cost.phase(RouteCost.Phase.INVOCATION);
+            }
+            //after
+            parseReturnValue(rc, invoke, plan);
+            if (cost != null) {
+                cost.phase(RouteCost.Phase.SERIALIZATION);
+            }
+        } catch (ClientException | ServerException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("uncheck exception.", e);
+        } finally {
+            if (bound) {
+                deadline.unbind();
+            }
+            if (stats != null) {
+                long elapsed = System.nanoTime() - start;
+                if (blocking) {
+                    stats.recordOffloaded(elapsed);
+                } else {
+                    stats.record(elapsed);
+                }
+            }
+        }
+    }
+
+    //与 blockingHandler 相同：在 worker（或虚拟线程）上执行，失败时回到 event loop 调用 fail
+    private void autoOffload(RoutingContext rc, Handler<RoutingContext> handler, boolean virtual) {
+        Callable<Void> call = () -> {
+            handler.handle(rc);
+            return null;
         };
+        if (!virtual) {
+            rc.vertx().executeBlocking(call, false).onFailure(rc::fail);
+            return;
+        }
+        Context context = rc.vertx().getOrCreateContext();
+        virtualThreads().execute(() -> {
+            try {
+                call.call();
+            } catch (Throwable e) {
+                context.runOnContext(v -> rc.fail(e));
+            }
+        });
+    }
+
+    private synchronized ExecutorService virtualThreads() {
+        if (virtualThreads == null) {
+            virtualThreads = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("webmvc-offload-", 0).factory());
+        }
+        return virtualThreads;
+    }
+
+    private Handler<RoutingContext> forwardHandler(RoutePlan plan) {
+        return rc -> {
+            Object[] args = parseArgs(plan.parameters(), rc, ParamSource.of(rc), plan.binding());
+            offload().forward(rc.get(Deadline.KEY), plan, args).onComplete(ar -> {
+                try {
+                    if (ar.failed()) {
+                        rc.fail(ar.cause());
+                    } else if (ar.result() == null) {
+                        if (!rc.response().ended())
+                            rc.response().end();
+                    } else {
+                        parseReturnValue(rc, ar.result(), plan);
+                    }
+                } catch (RuntimeException e) {
+                    rc.fail(e);
+                }
+            });
+        };
+    }
+
+    EventBusOffload offload() {
+        if (this.offload == null) {
+            this.offload = new EventBusOffload(this.application);
+        }
+        return this.offload;
+    }
+
+    //方法上的 @RateLimit 优先，其次是类上的，最后是全局配置
+    private RateLimitHandler rateLimitHandler(Class<?> a, Method method) {
+        RateLimit rateLimit = method.getAnnotation(RateLimit.class);
+        if (rateLimit == null) {
+            rateLimit = a.getAnnotation(RateLimit.class);
+        }
+        if (rateLimit != null) {
+            RateLimitHandler handler = RateLimitHandler.create(rateLimit);
+            rateLimitHandlers.add(handler);
+            return handler;
+        }
+        return globalRateLimitHandler();
+    }
+
+    //没有全局配置时先不限流，运行时加上 rateLimit 节点后开启
+    private RateLimitHandler globalRateLimitHandler() {
+        RateLimitHandler handler = RateLimitHandler.create(this.application.config().getJsonObject("rateLimit"));
+        this.application.runtimeConfig().onChange("rateLimit", handler::reconfigure);
+        rateLimitHandlers.add(handler);
         return handler;
     }
 
+    //方法上的 @Compression 优先，其次是类上的
+    private ResponseCompressor compressor(Class<?> a, Method method) {
+        Compression compression = method.getAnnotation(Compression.class);
+        if (compression == null) {
+            compression = a.getAnnotation(Compression.class);
+        }
+        if (compression == null) {
+            return null;
+        }
+        HttpServerOptions options = this.application.serverOptions();
+        ResponseCompressor compressor = new ResponseCompressor(compression, options != null && options.isCompressionSupported());
+        //全局 compression 节点可覆盖阈值
+        JsonObject global = this.application.config().getJsonObject("compression");
+        if (global != null) {
+            compressor.reconfigure(global);
+        }
+        this.application.runtimeConfig().onChange("compression", compressor::reconfigure);
+        return compressor;
+    }
+
+    //命中则按缓存的响应体写出；未命中时记下缓存键，由 send 回填
+    private void serveCached(RoutingContext rc, RoutePlan plan) {
+        ResponseCache cache = plan.cache();
+        String key = cache.key(rc.request());
+        if (key == null) {
+            rc.next();
+            return;
+        }
+        key = key + variant(rc, plan);
+        CachedResponse cached = cache.lookup(key);
+        if (cached == null) {
+            rc.put(ResponseCache.KEY, key);
+            rc.next();
+            return;
+        }
+        rc.response().headers().addAll(cached.headers());
+        send(rc, plan, cached.contentType(), cached.body());
+    }
+
+    //首个请求继续执行；其余请求等待首个请求发布的响应，在各自的 context 上写出
+    private void coalesce(RoutingContext rc, RoutePlan plan) {
+        Future<CachedResponse> leader = plan.singleFlight().join(rc, variant(rc, plan));
+        if (leader == null) {
+            rc.next();
+            return;
+        }
+        Context context = rc.vertx().getOrCreateContext();
+        leader.onComplete(ar -> context.runOnContext(v -> {
+            CachedResponse shared = ar.result();
+            if (shared == null) {
+                rc.next();
+                return;
+            }
+            rc.response().headers().addAll(shared.headers());
+            send(rc, plan, shared.contentType(), shared.body());
+        }));
+    }
+
+    //协商出的响应格式，每个请求只解析一次 Accept；非 JSON 路由为 null
+    private static WireFormat format(RoutingContext rc, RoutePlan plan) {
+        if (plan.negotiator() == null) {
+            return null;
+        }
+        WireFormat format = rc.get(FORMAT_KEY);
+        if (format == null) {
+            format = plan.negotiator().negotiate(rc.request().getHeader("Accept"));
+            rc.put(FORMAT_KEY, format);
+        }
+        return format;
+    }
+
+    //缓存键、合并键的后缀，不同格式的响应分开存放
+    private static String variant(RoutingContext rc, RoutePlan plan) {
+        WireFormat format = format(rc, plan);
+        return format == null || format == WireFormat.JSON ? "" : "#" + format.name();
+    }
+
     //todo: 确定Param语义
     void checkArg(Object[] args) {
         for (Object o : args) {
@@ -141,21 +527,47 @@ public class AnnotationScanner {
         throw new ClientException("request parameter is null.");
     }
 
-    static Object[] parseArgs(Parameter[] parameters, RoutingContext rc) throws RuntimeException {
-        List<Object> args = new LinkedList<>();
+    //是否有需要从请求参数绑定的参数；只注入上下文或请求体时不解析 JSON
+    static boolean needsBinding(Parameter[] parameters) {
+        for (Parameter parameter : parameters) {
+            Class<?> type = parameter.getType();
+            if (!type.equals(RoutingContext.class)
+                    && !type.equals(Vertx.class)
+                    && !type.equals(ResponseCaches.class)
+                    && !type.equals(Deadline.class)
+                    && !type.equals(WebClient.class)
+                    && !type.equals(Broadcaster.class)
+                    && !RequestBodyStreams.isBodyParameter(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-        // 不支持多值。
-        MultiMap params = rc.request().params();
+    Object[] parseArgs(Parameter[] parameters, RoutingContext rc, ParamSource source, boolean binding) throws RuntimeException {
+        List<Object> args = new LinkedList<>();
 
         JsonObject queryObject = new JsonObject();
-        params.entries().forEach(entry -> queryObject.put(entry.getKey(), entry.getValue()));
-
-        String header = rc.request().getHeader("Content-Type");
-
-        if (header != null && header.contains("json")) {
-            JsonObject bodyAsJson = rc.body().asJsonObject();
-            if (!bodyAsJson.isEmpty()) {
-                queryObject.mergeIn(bodyAsJson);
+        if (binding) {
+            // 单值参数只取一个，多值参数见 multiValue
+            MultiMap params = source.params();
+            params.entries().forEach(entry -> queryObject.put(entry.getKey(), entry.getValue()));
+
+            String header = source.contentType();
+
+            if (header != null && header.contains("json")) {
+                Buffer body = source.body();
+                JsonObject bodyAsJson = body != null && body.length() > 0 ? body.toJsonObject() : null;
+                if (bodyAsJson != null && !bodyAsJson.isEmpty()) {
+                    queryObject.mergeIn(bodyAsJson);
+                }
+            } else if (header != null) {
+                //CBOR、Smile、MessagePack 请求体
+                WireFormat format = WireFormat.of(header);
+                Buffer body = format != null ? source.body() : null;
+                if (body != null && body.length() > 0) {
+                    queryObject.mergeIn(format.decodeObject(body));
+                }
             }
         }
 
@@ -176,6 +588,51 @@ public class AnnotationScanner {
                 continue;
             }
 
+            // 截止时间注入，没有截止时间时为 Deadline.none()
+            if (type.equals(Deadline.class)) {
+                Deadline deadline = rc.get(Deadline.KEY);
+                args.add(deadline != null ? deadline : Deadline.none());
+                continue;
+            }
+
+            // 共享的 WebClient，配合 Deadline.apply 传递截止时间
+            if (type.equals(WebClient.class)) {
+                args.add(this.application.webClient());
+                continue;
+            }
+
+            // 推送广播注入
+            if (type.equals(Broadcaster.class)) {
+                args.add(this.application.broadcaster());
+                continue;
+            }
+
+            // 响应缓存注入，用于失效与统计
+            if (type.equals(ResponseCaches.class)) {
+                args.add(this.application.responseCaches());
+                continue;
+            }
+
+            // 请求体注入：Buffer、ReadStream、Stream
+            if (type.equals(Buffer.class)) {
+                args.add(source.body());
+                continue;
+            }
+            if (RequestBodyStreams.isBodyParameter(type)) {
+                args.add(RequestBodyStreams.resolve(parameter, rc));
+                continue;
+            }
+
+            // 多值参数：重复的查询参数、逗号分隔或 JSON 数组
+            if (TypeConverter.isMultiValue(type)) {
+                try {
+                    args.add(multiValue(parameter, source, queryObject));
+                } catch (UnsupportedOperationException | IllegalArgumentException e) {
+                    throw new ClientException("bad parameter " + name + ".", e);
+                }
+                continue;
+            }
+
             //参数注入与校验
             if (!Reflection.isPrimitiveType(type)) {
                 //3、简单 bean 注入
@@ -271,7 +728,31 @@ public class AnnotationScanner {
         return args.toArray();
     }
 
-    void parseReturnValue(RoutingContext rc, Object invoke, HttpHandler annotation) throws RuntimeException {
+    //查询参数按重复值与逗号拆分；没有查询参数时取请求体中的数组，元素不再拆分
+    private static Object multiValue(Parameter parameter, ParamSource source, JsonObject queryObject) {
+        String name = parameter.getName();
+        Param param = parameter.getAnnotation(Param.class);
+        List<String> values = source.params().getAll(name);
+        boolean split = true;
+        if (values.isEmpty()) {
+            Object body = queryObject.getValue(name);
+            if (body instanceof JsonArray array) {
+                values = new ArrayList<>(array.size());
+                for (Object element : array) {
+                    values.add(element == null ? "" : element.toString());
+                }
+                split = false;
+            } else if (body != null) {
+                values = List.of(body.toString());
+            } else if (param != null && !param.defaultValue().isEmpty()) {
+                values = List.of(param.defaultValue());
+            }
+        }
+        int maxSize = param != null ? param.size() : 0;
+        return TypeConverter.convertAll(parameter.getType(), parameter.getParameterizedType(), values, split, maxSize);
+    }
+
+    void parseReturnValue(RoutingContext rc, Object invoke, RoutePlan plan) throws RuntimeException {
         //在方法内处理完毕
         if (rc.response().ended())
             return;
@@ -281,11 +762,41 @@ public class AnnotationScanner {
                 if (!rc.response().ended())
                     rc.response().end();
             });
+        } else if (invoke instanceof Future<?> future) {
+            // 异步返回，完成后按结果类型处理；截止时间到期时不再等待
+            Deadline deadline = rc.get(Deadline.KEY);
+            (deadline != null ? deadline.limit(future) : future).onComplete(ar -> {
+                //已超时，响应已写出
+                if (rc.response().ended()) {
+                    return;
+                }
+                try {
+                    if (ar.failed()) {
+                        rc.fail(ar.cause());
+                    } else if (ar.result() == null) {
+                        if (!rc.response().ended())
+                            rc.response().end();
+                    } else {
+                        parseReturnValue(rc, ar.result(), plan);
+                    }
+                } catch (RuntimeException e) {
+                    rc.fail(e);
+                }
+            });
+        } else if (StreamingResponse.isStreaming(invoke)) {
+            // 流式返回，逐个元素写出
+            StreamingResponse.write(rc, invoke, plan.produce(), Context.isOnWorkerThread());
         } else {
-            // 根据注解，处理返回类型。
+            // 根据注解，处理返回类型。输出方式在扫描时已确定
+            String produce = plan.produce();
             String result = invoke.toString();
-            if (annotation.produce().contains("application/json")) {
-                if (invoke instanceof JsonObject || invoke instanceof String) {
+            if (plan.output() == RoutePlan.Output.JSON) {
+                WireFormat format = format(rc, plan);
+                if (format != WireFormat.JSON) {
+                    send(rc, plan, format.mediaType(), format.encode(wireValue(invoke)));
+                    return;
+                }
+                if (invoke instanceof JsonObject || invoke instanceof JsonArray || invoke instanceof String) {
                     result = invoke.toString();
                 } else if (invoke instanceof Map) {
                     result = new JsonObject((Map) invoke).toString();
@@ -302,33 +813,74 @@ public class AnnotationScanner {
                     }
 
                 }
-                rc.response().putHeader("content-type", annotation.produce()).end(result);
+                send(rc, plan, produce, Buffer.buffer(result));
 
-            } else if (annotation.produce().contains("text/html")) {
+            } else if (plan.output() == RoutePlan.Output.HTML) {
                 //html
-                TemplateEngine engine = this.application.getTemplateEngine();
-                if (engine == null) {
-                    renderPlain(rc, result);
+                TemplateRenderer renderer = this.application.templateRenderer();
+                if (renderer == null) {
+                    renderPlain(rc, plan, result);
                     return;
                 }
-                Future<Buffer> render = engine.render(rc.data(), "templates/" + result);
-                if (render.failed()) {
-                    logger.error("render template error.", render.cause());
-                    rc.response().setStatusCode(500).end(render.cause().getMessage());
-                } else {
-                    rc.response().putHeader("content-type", annotation.produce()).end(render.result());
-                }
+                renderer.render(rc.data(), result).onComplete(render -> {
+                    if (rc.response().ended()) {
+                        return;
+                    }
+                    if (render.failed()) {
+                        logger.error("render template error.", render.cause());
+                        rc.response().setStatusCode(500).end(render.cause().getMessage());
+                    } else {
+                        send(rc, plan, produce, render.result());
+                    }
+                });
 
             } else {
                 //默认 按 text/plain 处理
-                renderPlain(rc, result);
+                renderPlain(rc, plan, result);
             }
 
 
         }
     }
 
-    private void renderPlain(RoutingContext rc, String body) {
-        rc.response().putHeader("content-type", "text/plain; charset=utf-8;").end(body);
+    //二进制格式直接序列化对象；String 视为 JSON 文本
+    private static Object wireValue(Object invoke) {
+        if (invoke instanceof String json) {
+            return Json.decodeValue(json);
+        }
+        if (invoke instanceof Object[] array) {
+            return Arrays.asList(array);
+        }
+        return invoke;
+    }
+
+    private void renderPlain(RoutingContext rc, RoutePlan plan, String body) {
+        send(rc, plan, "text/plain; charset=utf-8;", Buffer.buffer(body));
+    }
+
+    //所有非流式响应的出口，按路由配置压缩
+    void send(RoutingContext rc, RoutePlan plan, String contentType, Buffer body) {
+        HttpServerResponse response = rc.response();
+        if (response.ended()) {
+            return;
+        }
+        response.putHeader("content-type", contentType);
+        if (plan.negotiator() != null) {
+            response.headers().add("Vary", "Accept");
+        }
+        ResponseCache cache = plan.cache();
+        String key = rc.get(ResponseCache.KEY);
+        if (cache != null && key != null && response.getStatusCode() == 200) {
+            cache.store(key, rc.request(), response, contentType, body);
+        }
+        SingleFlight.Flight flight = rc.get(SingleFlight.KEY);
+        if (flight != null && response.getStatusCode() == 200) {
+            flight.publish(response, contentType, body);
+        }
+        ResponseCompressor compressor = plan.compressor();
+        if (compressor != null) {
+            body = compressor.apply(response, rc.request().getHeader("Accept-Encoding"), body);
+        }
+        response.end(body);
     }
 }
@@ -0,0 +1,316 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.annotation;
+
+import com.github.lcnap.vertx.webmvc.ClientException;
+import com.github.lcnap.vertx.webmvc.Deadline;
+import com.github.lcnap.vertx.webmvc.HttpMethod;
+import com.github.lcnap.vertx.webmvc.handler.ConcurrencyLimitHandler;
+import com.github.lcnap.vertx.webmvc.handler.RateLimitHandler;
+import com.github.lcnap.vertx.webmvc.limit.ConcurrencyLimiter;
+import com.github.lcnap.vertx.webmvc.stream.RequestBodyStreams;
+import com.github.lcnap.vertx.webmvc.stream.StreamingResponse;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Parameter;
+import java.util.*;
+
+/**
+ * 批量请求：一个 POST 携带多项 {method, path, params, body}，在进程内直接调用扫描得到的 RoutePlan，
+ * 按原顺序返回 [{status, body | error}]。连续的 GET 项并行执行（每批最多 parallelism 个），
+ * 其他方法的项依次执行，保证写操作之间及与前后读操作的顺序。
+ * <p>
+ * 只支持按完整路径匹配；注入 RoutingContext、流式请求体或流式返回、produce 为 text/html 的方法返回 400。
+ * 每一项都计入所在路由的限流（超出返回 429）与并发限制（超出返回 503），阻塞方法与路由一样在截止时间到期时被中断；
+ * 不经过各路由的缓存与合并。
+ * <p>
+ * 配置（http-server.json 的 batch 节点）：path（默认 /batch）、maxEntries（默认 20）、
+ * parallelism（默认 8）、timeout（毫秒，默认 10000，整个批量请求的截止时间）。
+ */
+class BatchDispatcher implements Handler<RoutingContext> {
+    private final static Logger logger = LoggerFactory.getLogger(BatchDispatcher.class);
+
+    private final AnnotationScanner scanner;
+
+    private final Vertx vertx;
+
+    private final int maxEntries;
+
+    private final int parallelism;
+
+    //路径 -> 该路径上的方法
+    private final Map<String, List<Target>> plans = new HashMap<>();
+
+    BatchDispatcher(AnnotationScanner scanner, Vertx vertx, JsonObject config) {
+        this.scanner = scanner;
+        this.vertx = vertx;
+        this.maxEntries = config.getInteger("maxEntries", 20);
+        this.parallelism = Math.max(1, config.getInteger("parallelism", 8));
+    }
+
+    static String path(JsonObject config) {
+        return config.getString("path", "/batch");
+    }
+
+    static long timeout(JsonObject config) {
+        return config.getLong("timeout", 10_000L);
+    }
+
+    //concurrencyLimit 只有非转发的阻塞方法才有，其他为 null
+    void register(RoutePlan plan, RateLimitHandler rateLimit, ConcurrencyLimitHandler concurrencyLimit) {
+        this.plans.computeIfAbsent(plan.path(), k -> new ArrayList<>(1))
+                .add(new Target(plan, rateLimit, concurrencyLimit));
+    }
+
+    @Override
+    public void handle(RoutingContext rc) {
+        JsonArray entries;
+        try {
+            Buffer body = rc.body().buffer();
+            Object value = body == null ? null : Json.decodeValue(body);
+            entries = value instanceof JsonArray array ? array : null;
+        } catch (DecodeException e) {
+            throw new ClientException("batch body must be a JSON array.", e);
+        }
+        if (entries == null) {
+            throw new ClientException("batch body must be a JSON array.");
+        }
+        if (entries.size() > maxEntries) {
+            throw new ClientException("batch exceeds the maximum entries: " + maxEntries);
+        }
+
+        JsonObject[] results = new JsonObject[entries.size()];
+        Future<Void> chain = Future.succeededFuture();
+        int i = 0;
+        while (i < entries.size()) {
+            //连续的 GET 组成一组并行执行
+            int start = i;
+            if (isGet(entries.getValue(i))) {
+                while (i < entries.size() && i - start < parallelism && isGet(entries.getValue(i))) {
+                    i++;
+                }
+            } else {
+                i++;
+            }
+            int end = i;
+            chain = chain.compose(v -> {
+                List<Future<JsonObject>> wave = new ArrayList<>(end - start);
+                for (int j = start; j < end; j++) {
+                    int index = j;
+                    wave.add(execute(rc, entries.getValue(j)).onSuccess(result -> results[index] = result));
+                }
+                return Future.join(wave).mapEmpty();
+            });
+        }
+
+        chain.onComplete(ar -> {
+            if (rc.response().ended()) {
+                return;
+            }
+            JsonArray out = new JsonArray(new ArrayList<>(results.length));
+            for (JsonObject result : results) {
+                out.add(result);
+            }
+            rc.response().putHeader("content-type", "application/json; charset=utf-8").end(out.toBuffer());
+        });
+    }
+
+    private static boolean isGet(Object entry) {
+        return entry instanceof JsonObject json && "GET".equalsIgnoreCase(json.getString("method", "GET"));
+    }
+
+    //单项的失败都转换为该项的状态码，不影响其他项
+    private Future<JsonObject> execute(RoutingContext rc, Object value) {
+        if (!(value instanceof JsonObject entry)) {
+            return Future.succeededFuture(error(400, "batch entry must be a JSON object."));
+        }
+        String method = entry.getString("method", "GET").toUpperCase(Locale.ROOT);
+        String path = entry.getString("path");
+        Target target = find(method, path);
+        if (target == null) {
+            return Future.succeededFuture(error(404, "no handler: " + method + " " + path));
+        }
+        RoutePlan plan = target.plan();
+        if (!supported(plan)) {
+            return Future.succeededFuture(error(400, "not supported in batch: " + path));
+        }
+        Deadline deadline = rc.get(Deadline.KEY);
+        if (deadline != null && deadline.expired()) {
+            return Future.succeededFuture(error(504, "deadline exceeded."));
+        }
+        if (target.rateLimit().acquire(rc) != 0) {
+            return Future.succeededFuture(error(429, "too many requests."));
+        }
+        ConcurrencyLimiter limiter = target.concurrencyLimit() != null ? target.concurrencyLimit().limiter() : null;
+        if (limiter != null && !limiter.tryAcquire()) {
+            return Future.succeededFuture(error(503, "too many concurrent requests."));
+        }
+
+        long start = System.nanoTime();
+        Future<Object> invoked;
+        try {
+            Object[] args = scanner.parseArgs(plan.parameters(), rc, source(entry), plan.binding());
+            if (!plan.annotation().address().isEmpty()) {
+                invoked = scanner.offload().forward(deadline, plan, args);
+            } else if (plan.annotation().isBlocking()) {
+                invoked = vertx.executeBlocking(() -> invokeBound(deadline, plan, args), false);
+            } else {
+                invoked = Future.succeededFuture(invoke(plan, args));
+            }
+        } catch (Exception e) {
+            invoked = Future.failedFuture(e);
+        }
+        //方法执行结束时归还名额，失败的不作为耗时样本
+        if (limiter != null) {
+            invoked.onComplete(ar -> {
+                if (ar.succeeded()) {
+                    limiter.release(System.nanoTime() - start);
+                } else {
+                    limiter.release();
+                }
+            });
+        }
+        return invoked
+                .compose(result -> result instanceof Future<?> future ? future.map(v -> (Object) v) : Future.succeededFuture(result))
+                .map(result -> new JsonObject().put("status", 200).put("body", toJson(plan, result)))
+                .otherwise(e -> {
+                    boolean client = e instanceof ClientException || e.getCause() instanceof ClientException;
+                    if (!client) {
+                        logger.error("batch entry failed: {} {}", method, path, e);
+                    }
+                    return error(client ? 400 : 500, String.valueOf(e.getMessage()));
+                });
+    }
+
+    private Target find(String method, String path) {
+        List<Target> candidates = path == null ? null : plans.get(path);
+        if (candidates == null) {
+            return null;
+        }
+        for (Target target : candidates) {
+            for (HttpMethod allowed : target.plan().annotation().method()) {
+                if (allowed.name().equals(method)) {
+                    return target;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean supported(RoutePlan plan) {
+        for (Parameter parameter : plan.parameters()) {
+            Class<?> type = parameter.getType();
+            if (type.equals(RoutingContext.class) || RequestBodyStreams.isStreamingParameter(type)) {
+                return false;
+            }
+        }
+        return plan.output() != RoutePlan.Output.HTML && !StreamingResponse.isStreamingType(plan.method().getReturnType());
+    }
+
+    //params 的数组值按多值参数处理；body 为对象或数组时按 JSON 传入
+    private static ParamSource source(JsonObject entry) {
+        MultiMap params = MultiMap.caseInsensitiveMultiMap();
+        JsonObject json = entry.getJsonObject("params");
+        if (json != null) {
+            json.forEach(e -> {
+                if (e.getValue() instanceof JsonArray array) {
+                    array.forEach(v -> params.add(e.getKey(), String.valueOf(v)));
+                } else if (e.getValue() != null) {
+                    params.add(e.getKey(), String.valueOf(e.getValue()));
+                }
+            });
+        }
+        Object body = entry.getValue("body");
+        if (body == null) {
+            return ParamSource.of(params, entry.getString("contentType"), null);
+        }
+        if (body instanceof JsonObject || body instanceof JsonArray) {
+            return ParamSource.of(params, "application/json", Json.encodeToBuffer(body));
+        }
+        return ParamSource.of(params, entry.getString("contentType", "text/plain"), Buffer.buffer(body.toString()));
+    }
+
+    //在 worker 线程上绑定截止时间，到期时中断
+    private static Object invokeBound(Deadline deadline, RoutePlan plan, Object[] args) throws Exception {
+        boolean bound = deadline != null && deadline.bind(Thread.currentThread());
+        try {
+            return invoke(plan, args);
+        } finally {
+            if (bound) {
+                deadline.unbind();
+            }
+        }
+    }
+
+    private static Object invoke(RoutePlan plan, Object[] args) throws Exception {
+        try {
+            return plan.method().invoke(plan.instance(), args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+
+    //与 parseReturnValue 的 JSON 输出一致；非 JSON 路由按字符串返回
+    private static Object toJson(RoutePlan plan, Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (plan.output() != RoutePlan.Output.JSON) {
+            return value.toString();
+        }
+        if (value instanceof String text) {
+            try {
+                return Json.decodeValue(text);
+            } catch (DecodeException e) {
+                return text;
+            }
+        }
+        if (value instanceof JsonObject || value instanceof JsonArray || value instanceof Number || value instanceof Boolean) {
+            return value;
+        }
+        if (value instanceof Map<?, ?> map) {
+            JsonObject json = new JsonObject();
+            map.forEach((k, v) -> json.put(String.valueOf(k), v));
+            return json;
+        }
+        if (value instanceof List<?> list) {
+            return new JsonArray(list);
+        }
+        if (value instanceof Object[] array) {
+            return new JsonArray(Arrays.asList(array));
+        }
+        return JsonObject.mapFrom(value);
+    }
+
+    private static JsonObject error(int status, String message) {
+        return new JsonObject().put("status", status).put("error", message);
+    }
+
+    private record Target(RoutePlan plan, RateLimitHandler rateLimit, ConcurrencyLimitHandler concurrencyLimit) {
+    }
+}
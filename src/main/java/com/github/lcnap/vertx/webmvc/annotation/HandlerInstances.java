@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.annotation;
+
+import com.github.lcnap.vertx.webmvc.Scope;
+import com.github.lcnap.vertx.webmvc.ServerException;
+import com.github.lcnap.vertx.webmvc.cache.ResponseCaches;
+import com.github.lcnap.vertx.webmvc.impl.WebApplicationImpl;
+import com.github.lcnap.vertx.webmvc.push.Broadcaster;
+import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.WebClient;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Parameter;
+import java.util.function.Supplier;
+
+/**
+ * 创建业务类实例，支持构造器注入：Vertx、WebClient、WorkerExecutor（按参数名取 executors 配置）、
+ * JsonObject（http-server.json 配置）、ResponseCaches。
+ * 有多个构造器时使用参数最多的一个。
+ */
+public class HandlerInstances {
+
+    private final WebApplicationImpl application;
+
+    public HandlerInstances(WebApplicationImpl application) {
+        this.application = application;
+    }
+
+    /**
+     * 按作用域返回实例的提供者。SINGLETON 立即创建；EVENT_LOOP 在每个 event loop 线程首次使用时创建。
+     */
+    public Supplier<Object> create(Class<?> handlerClass, Scope scope) {
+        Constructor<?> constructor = constructor(handlerClass);
+        if (scope == Scope.EVENT_LOOP) {
+            ThreadLocal<Object> instances = ThreadLocal.withInitial(() -> newInstance(constructor));
+            return instances::get;
+        }
+        Object instance = newInstance(constructor);
+        return () -> instance;
+    }
+
+    private static Constructor<?> constructor(Class<?> handlerClass) {
+        Constructor<?> selected = null;
+        for (Constructor<?> constructor : handlerClass.getDeclaredConstructors()) {
+            if (selected == null || constructor.getParameterCount() > selected.getParameterCount()) {
+                selected = constructor;
+            }
+        }
+        if (selected == null) {
+            throw new ServerException("no constructor: " + handlerClass.getName());
+        }
+        selected.setAccessible(true);
+        return selected;
+    }
+
+    private Object newInstance(Constructor<?> constructor) {
+        Parameter[] parameters = constructor.getParameters();
+        Object[] args = new Object[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            args[i] = resolve(constructor, parameters[i]);
+        }
+        try {
+            return constructor.newInstance(args);
+        } catch (InvocationTargetException e) {
+            throw new ServerException("create handler failed: " + constructor.getDeclaringClass().getName(), e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new ServerException("create handler failed: " + constructor.getDeclaringClass().getName(), e);
+        }
+    }
+
+    private Object resolve(Constructor<?> constructor, Parameter parameter) {
+        Class<?> type = parameter.getType();
+        if (type.equals(Vertx.class)) {
+            return application.vertx();
+        }
+        if (type.equals(WebClient.class)) {
+            return application.webClient();
+        }
+        if (type.equals(WorkerExecutor.class)) {
+            return application.executor(parameter.getName());
+        }
+        if (type.equals(JsonObject.class)) {
+            return application.config();
+        }
+        if (type.equals(ResponseCaches.class)) {
+            return application.responseCaches();
+        }
+        if (type.equals(Broadcaster.class)) {
+            return application.broadcaster();
+        }
+        throw new ServerException("unsupported constructor parameter " + parameter.getName() + ": " + constructor);
+    }
+}
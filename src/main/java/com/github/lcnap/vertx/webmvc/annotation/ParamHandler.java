@@ -22,7 +22,8 @@ import com.github.lcnap.vertx.webmvc.Param;
 import com.github.lcnap.vertx.webmvc.rule.RuleChecker;
 import com.github.lcnap.vertx.webmvc.rule.RuleCheckerImpl;
 
-import java.util.List;
+import java.lang.reflect.Array;
+import java.util.Collection;
 
 public class ParamHandler implements AnnotationHandler<Object> {
 
@@ -31,11 +32,6 @@ public class ParamHandler implements AnnotationHandler<Object> {
     @Override
     public Object handle(Param annotation, Class<?> type, Object bean) {
 
-        if (type.isArray()) {
-            throw new RuntimeException("Array parameters are not supported");
-        }
-
-
         //处理默认值
         if (bean == null) {
             if (!annotation.required()) {
@@ -65,8 +61,13 @@ public class ParamHandler implements AnnotationHandler<Object> {
                     throw new ClientException("exceeds the maximum size limit");
                 }
             }
-            if (bean instanceof List<?> list) {
-                if (list.size() > annotation.size()) {
+            if (bean instanceof Collection<?> collection) {
+                if (collection.size() > annotation.size()) {
+                    throw new ClientException("exceeds the maximum size limit");
+                }
+            }
+            if (type.isArray()) {
+                if (Array.getLength(bean) > annotation.size()) {
                     throw new ClientException("exceeds the maximum size limit");
                 }
             }
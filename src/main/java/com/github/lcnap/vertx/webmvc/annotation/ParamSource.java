@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.annotation;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.web.RequestBody;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * 参数绑定的数据来源：HTTP 请求，或批量请求中的一项。
+ */
+interface ParamSource {
+
+    MultiMap params();
+
+    String contentType();
+
+    //没有请求体时为 null
+    Buffer body();
+
+    static ParamSource of(RoutingContext rc) {
+        return new ParamSource() {
+            @Override
+            public MultiMap params() {
+                return rc.request().params();
+            }
+
+            @Override
+            public String contentType() {
+                return rc.request().getHeader("Content-Type");
+            }
+
+            @Override
+            public Buffer body() {
+                RequestBody body = rc.body();
+                return body != null ? body.buffer() : null;
+            }
+        };
+    }
+
+    static ParamSource of(MultiMap params, String contentType, Buffer body) {
+        return new ParamSource() {
+            @Override
+            public MultiMap params() {
+                return params;
+            }
+
+            @Override
+            public String contentType() {
+                return contentType;
+            }
+
+            @Override
+            public Buffer body() {
+                return body;
+            }
+        };
+    }
+}
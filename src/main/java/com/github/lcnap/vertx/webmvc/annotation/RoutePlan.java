@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.lcnap.vertx.webmvc.annotation;
+
+import com.github.lcnap.vertx.webmvc.HttpHandler;
+import com.github.lcnap.vertx.webmvc.cache.ResponseCache;
+import com.github.lcnap.vertx.webmvc.cache.SingleFlight;
+import com.github.lcnap.vertx.webmvc.compression.ResponseCompressor;
+import com.github.lcnap.vertx.webmvc.format.ContentNegotiator;
+import com.github.lcnap.vertx.webmvc.format.WireFormat;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.EnumSet;
+import java.util.function.Supplier;
+
+/**
+ * 扫描时为每个业务方法预先解析好的路由信息，请求时直接使用，不再反射读取注解。
+ */
+public class RoutePlan {
+
+    //返回值的输出方式，由 produce 决定
+    public enum Output {
+        JSON, HTML, TEXT
+    }
+
+    private final Class<?> handlerClass;
+
+    private final Method method;
+
+    //按作用域提供业务类实例
+    private final Supplier<Object> instance;
+
+    private final Parameter[] parameters;
+
+    private final HttpHandler annotation;
+
+    //类路径 + 方法路径
+    private final String path;
+
+    //是否需要从请求参数绑定
+    private final boolean binding;
+
+    //未配置 @Compression 时为 null
+    private final ResponseCompressor compressor;
+
+    //未配置 @Cacheable 时为 null
+    private final ResponseCache cache;
+
+    //未开启 coalesce 时为 null
+    private final SingleFlight singleFlight;
+
+    private final Output output;
+
+    //JSON 路由按 Accept 选择 JSON/CBOR/Smile/MessagePack，其他路由为 null
+    private final ContentNegotiator negotiator;
+
+    public RoutePlan(Class<?> handlerClass, Method method, Supplier<Object> instance, HttpHandler annotation, String path,
+                     ResponseCompressor compressor, ResponseCache cache) {
+        this.handlerClass = handlerClass;
+        this.method = method;
+        this.instance = instance;
+        this.parameters = method.getParameters();
+        this.annotation = annotation;
+        this.path = path;
+        this.binding = AnnotationScanner.needsBinding(parameters);
+        this.compressor = compressor;
+        this.cache = cache;
+        this.singleFlight = annotation.coalesce() ? new SingleFlight(annotation.coalesceParams()) : null;
+        this.output = output(annotation.produce());
+        this.negotiator = this.output == Output.JSON
+                ? new ContentNegotiator(WireFormat.JSON, EnumSet.allOf(WireFormat.class)) : null;
+    }
+
+    private static Output output(String produce) {
+        if (produce.contains("application/json")) {
+            return Output.JSON;
+        }
+        if (produce.contains("text/html")) {
+            return Output.HTML;
+        }
+        return Output.TEXT;
+    }
+
+    public Class<?> handlerClass() {
+        return handlerClass;
+    }
+
+    public Method method() {
+        return method;
+    }
+
+    public Object instance() {
+        return instance.get();
+    }
+
+    public Parameter[] parameters() {
+        return parameters;
+    }
+
+    public HttpHandler annotation() {
+        return annotation;
+    }
+
+    public String path() {
+        return path;
+    }
+
+    public String produce() {
+        return annotation.produce();
+    }
+
+    public boolean binding() {
+        return binding;
+    }
+
+    public ResponseCompressor compressor() {
+        return compressor;
+    }
+
+    public ResponseCache cache() {
+        return cache;
+    }
+
+    public SingleFlight singleFlight() {
+        return singleFlight;
+    }
+
+    public Output output() {
+        return output;
+    }
+
+    public ContentNegotiator negotiator() {
+        return negotiator;
+    }
+}
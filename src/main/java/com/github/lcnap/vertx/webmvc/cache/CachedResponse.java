@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.cache;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 已序列化的响应快照：响应体（未压缩）、Content-Type 与业务设置的响应头。
+ */
+public class CachedResponse {
+
+    //不进入快照的响应头，由每次请求或压缩阶段重新生成
+    private final static Set<String> EXCLUDED_HEADERS = Set.of(
+            "content-type", "content-length", "content-encoding", "vary",
+            "transfer-encoding", "connection", "set-cookie", "x-request-id");
+
+    private final String contentType;
+
+    private final MultiMap headers;
+
+    private final Buffer body;
+
+    //组成缓存键的参数，用于按参数失效
+    private final Map<String, String> params;
+
+    private final long expiresAt;
+
+    CachedResponse(String contentType, MultiMap headers, Buffer body, Map<String, String> params, long expiresAt) {
+        this.contentType = contentType;
+        this.headers = headers;
+        this.body = body;
+        this.params = params;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * 按当前响应头与未压缩的响应体生成快照。
+     */
+    static CachedResponse capture(HttpServerResponse response, String contentType, Buffer body,
+                                  Map<String, String> params, long expiresAt) {
+        MultiMap headers = MultiMap.caseInsensitiveMultiMap();
+        response.headers().forEach(header -> {
+            if (!EXCLUDED_HEADERS.contains(header.getKey().toLowerCase(Locale.ROOT))) {
+                headers.add(header.getKey(), header.getValue());
+            }
+        });
+        return new CachedResponse(contentType, headers, body.copy(), params, expiresAt);
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public MultiMap headers() {
+        return headers;
+    }
+
+    public Buffer body() {
+        return body;
+    }
+
+    public Map<String, String> params() {
+        return params;
+    }
+
+    boolean expired(long now) {
+        return now - expiresAt >= 0;
+    }
+}
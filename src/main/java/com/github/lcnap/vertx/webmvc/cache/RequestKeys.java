@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.cache;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerRequest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 由请求方法、路径、选定参数与请求头组成的请求键，响应缓存与请求合并共用。
+ */
+public class RequestKeys {
+
+    /**
+     * 计算请求键，只有 GET/HEAD 有键，其他方法返回 null。
+     */
+    public static String key(HttpServerRequest request, String[] keyParams, String[] varyHeaders) {
+        HttpMethod method = request.method();
+        if (method != HttpMethod.GET && method != HttpMethod.HEAD) {
+            return null;
+        }
+        //HEAD 的响应没有响应体，与 GET 分开存放
+        StringBuilder key = new StringBuilder(64).append(method.name()).append(' ').append(request.path()).append('?');
+        params(request, keyParams).forEach((k, v) -> key.append(k).append('=').append(v).append('&'));
+        for (String header : varyHeaders) {
+            String value = request.getHeader(header);
+            key.append('|').append(header).append('=').append(value == null ? "" : value);
+        }
+        return key.toString();
+    }
+
+    //按参数名排序，保证键与参数顺序无关；多值参数用逗号拼接；keyParams 为空时取全部查询参数
+    public static Map<String, String> params(HttpServerRequest request, String[] keyParams) {
+        MultiMap all = request.params();
+        Map<String, String> params = new TreeMap<>();
+        if (keyParams.length == 0) {
+            for (String name : all.names()) {
+                params.put(name, String.join(",", all.getAll(name)));
+            }
+        } else {
+            for (String name : keyParams) {
+                List<String> values = all.getAll(name);
+                params.put(name, String.join(",", values));
+            }
+        }
+        return params;
+    }
+}
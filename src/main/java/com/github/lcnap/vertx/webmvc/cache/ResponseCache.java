@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.cache;
+
+import com.github.lcnap.vertx.webmvc.Cacheable;
+import com.github.lcnap.vertx.webmvc.utils.LruCache;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单个路由的响应缓存，配置来自 @Cacheable。
+ * 缓存键 = 请求方法 + 路径 + 选定参数 + 选定请求头；过期条目在读取时移除。
+ */
+public class ResponseCache {
+
+    //未命中时缓存键放在 RoutingContext 中，响应写出时据此回填
+    public final static String KEY = "webmvc.cacheKey";
+
+    private final String name;
+
+    private volatile long ttlNanos;
+
+    private final String[] keyParams;
+
+    private final String[] varyHeaders;
+
+    private final LruCache<String, CachedResponse> entries;
+
+    private final Cacheable cacheable;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    public ResponseCache(String name, Cacheable cacheable) {
+        this.name = name;
+        this.ttlNanos = cacheable.unit().toNanos(cacheable.ttl());
+        this.keyParams = cacheable.keyParams();
+        this.varyHeaders = cacheable.varyHeaders();
+        this.entries = new LruCache<>(cacheable.maxEntries());
+        this.cacheable = cacheable;
+    }
+
+    /**
+     * 运行时修改 ttl（秒）与 maxEntries，缺省的项恢复为 @Cacheable 的值；已缓存条目的过期时间不变。
+     */
+    public void reconfigure(JsonObject config) {
+        long ttl = config.containsKey("ttl")
+                ? TimeUnit.SECONDS.toNanos(config.getLong("ttl"))
+                : cacheable.unit().toNanos(cacheable.ttl());
+        int maxEntries = config.getInteger("maxEntries", cacheable.maxEntries());
+        if (ttl <= 0 || maxEntries <= 0) {
+            throw new IllegalArgumentException("ttl and maxEntries must be positive: " + name);
+        }
+        this.ttlNanos = ttl;
+        entries.resize(maxEntries);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * 计算缓存键，不可缓存的请求返回 null。
+     */
+    public String key(HttpServerRequest request) {
+        return RequestKeys.key(request, keyParams, varyHeaders);
+    }
+
+    public CachedResponse lookup(String key) {
+        CachedResponse cached = entries.get(key);
+        if (cached != null && cached.expired(System.nanoTime())) {
+            entries.remove(key);
+            cached = null;
+        }
+        if (cached == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return cached;
+    }
+
+    public void store(String key, HttpServerRequest request, HttpServerResponse response, String contentType, Buffer body) {
+        entries.put(key, CachedResponse.capture(response, contentType, body,
+                RequestKeys.params(request, keyParams), System.nanoTime() + ttlNanos));
+    }
+
+    /**
+     * 移除键参数包含全部给定值的条目，如 invalidate(Map.of("id", "42"))。
+     */
+    public void invalidate(Map<String, String> params) {
+        entries.removeIf((key, cached) -> cached.params().entrySet().containsAll(params.entrySet()));
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public JsonObject stats() {
+        return new JsonObject()
+                .put("size", entries.size())
+                .put("hits", hits())
+                .put("misses", misses())
+                .put("evictions", entries.evictions());
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.cache;
+
+import com.github.lcnap.vertx.webmvc.Cacheable;
+import com.github.lcnap.vertx.webmvc.ServerException;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 全部响应缓存的注册表。业务方法可以声明 ResponseCaches 参数，按名失效或查看命中统计。
+ */
+public class ResponseCaches {
+
+    private final Map<String, ResponseCache> caches = new ConcurrentHashMap<>();
+
+    public ResponseCache register(String name, Cacheable cacheable) {
+        ResponseCache cache = new ResponseCache(name, cacheable);
+        if (caches.putIfAbsent(name, cache) != null) {
+            throw new ServerException("duplicate response cache name: " + name);
+        }
+        return cache;
+    }
+
+    //不存在时返回 null
+    public ResponseCache get(String name) {
+        return caches.get(name);
+    }
+
+    public void invalidate(String name) {
+        ResponseCache cache = caches.get(name);
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    public void invalidateAll() {
+        caches.values().forEach(ResponseCache::invalidateAll);
+    }
+
+    /**
+     * 按 caches 配置节点修改各缓存，{"name": {"ttl": 30, "maxEntries": 500}}；未列出的缓存恢复注解中的值。
+     */
+    public void reconfigure(JsonObject config) {
+        caches.forEach((name, cache) -> cache.reconfigure(config.getJsonObject(name, new JsonObject())));
+    }
+
+    public JsonObject stats() {
+        JsonObject stats = new JsonObject();
+        caches.forEach((name, cache) -> stats.put(name, cache.stats()));
+        return stats;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.cache;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 请求合并：相同键的并发请求只执行一次，其余请求等待并共享其响应。
+ * 首个请求没有产生可共享的 200 响应（失败、流式输出、方法内自行写出）时，等待者各自执行。
+ */
+public class SingleFlight {
+
+    //首个请求的 Flight 放在 RoutingContext 中，响应写出时据此发布
+    public final static String KEY = "webmvc.flight";
+
+    private final static String[] NO_HEADERS = new String[0];
+
+    private final Map<String, Promise<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final String[] keyParams;
+
+    private final LongAdder coalesced = new LongAdder();
+
+    public SingleFlight(String[] keyParams) {
+        this.keyParams = keyParams;
+    }
+
+    /**
+     * 当前请求是首个（或不可合并）时返回 null，应继续执行；否则返回首个请求的结果，结果为 null 时自行执行。
+     * variant 区分同一参数下的不同响应（如协商出的格式），可为空串。
+     */
+    public Future<CachedResponse> join(RoutingContext rc, String variant) {
+        String key = RequestKeys.key(rc.request(), keyParams, NO_HEADERS);
+        if (key == null) {
+            return null;
+        }
+        key = key + variant;
+        Promise<CachedResponse> promise = Promise.promise();
+        Promise<CachedResponse> leader = inFlight.putIfAbsent(key, promise);
+        if (leader != null) {
+            coalesced.increment();
+            return leader.future();
+        }
+        Flight flight = new Flight(key, promise);
+        rc.put(KEY, flight);
+        //未发布就结束时，通知等待者自行执行
+        rc.addEndHandler(v -> flight.complete(null));
+        return null;
+    }
+
+    //被合并的请求数
+    public long coalesced() {
+        return coalesced.sum();
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    public class Flight {
+
+        private final String key;
+
+        private final Promise<CachedResponse> promise;
+
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        Flight(String key, Promise<CachedResponse> promise) {
+            this.key = key;
+            this.promise = promise;
+        }
+
+        public void publish(HttpServerResponse response, String contentType, Buffer body) {
+            if (!done.get()) {
+                complete(CachedResponse.capture(response, contentType, body, Map.of(), 0));
+            }
+        }
+
+        //先移出在途表再完成，之后到达的请求开始新的一轮
+        void complete(CachedResponse shared) {
+            if (done.compareAndSet(false, true)) {
+                inFlight.remove(key, promise);
+                promise.complete(shared);
+            }
+        }
+    }
+}
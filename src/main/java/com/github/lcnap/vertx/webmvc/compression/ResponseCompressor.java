@@ -0,0 +1,237 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.lcnap.vertx.webmvc.compression;
+
+import com.github.lcnap.vertx.webmvc.Compression;
+import com.github.lcnap.vertx.webmvc.ServerException;
+import com.github.lcnap.vertx.webmvc.utils.Digests;
+import com.github.lcnap.vertx.webmvc.utils.LruCache;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.compression.Brotli;
+import io.netty.handler.codec.compression.BrotliEncoder;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 路由级响应压缩，配置来自 @Compression。
+ * 小于阈值的响应不压缩；按 Accept-Encoding 与配置的优先级选择算法；
+ * 开启缓存时按 算法 + 内容哈希 缓存压缩结果，相同响应只压缩一次。
+ */
+public class ResponseCompressor {
+    private final static Logger logger = LoggerFactory.getLogger(ResponseCompressor.class);
+
+    private final static boolean BROTLI_AVAILABLE = brotliAvailable();
+
+    private final boolean enabled;
+
+    private final int defaultMinSize;
+
+    //可由全局 compression.minSize 运行时覆盖
+    private volatile int minSize;
+
+    private final List<String> algorithms;
+
+    private final int level;
+
+    private final LruCache<String, Buffer> cache;
+
+    //全局压缩开启时，不压缩的响应要显式声明 identity，否则会被 netty 再压缩
+    private final boolean serverCompression;
+
+    public ResponseCompressor(Compression compression, boolean serverCompression) {
+        this.enabled = compression.enabled();
+        this.defaultMinSize = compression.minSize();
+        this.minSize = defaultMinSize;
+        this.level = compression.level();
+        this.serverCompression = serverCompression;
+        this.cache = compression.cache() ? new LruCache<>(compression.cacheSize()) : null;
+
+        List<String> supported = new ArrayList<>();
+        for (String algorithm : compression.algorithms()) {
+            switch (algorithm) {
+                case "br" -> {
+                    if (BROTLI_AVAILABLE) {
+                        supported.add(algorithm);
+                    }
+                }
+                case "gzip", "deflate" -> supported.add(algorithm);
+                default -> throw new ServerException("unsupported compression algorithm: " + algorithm);
+            }
+        }
+        this.algorithms = List.copyOf(supported);
+    }
+
+    //全局 compression 节点变化时调用，没有 minSize 时恢复注解中的值
+    public void reconfigure(JsonObject config) {
+        int size = config.getInteger("minSize", defaultMinSize);
+        if (size < 0) {
+            throw new IllegalArgumentException("compression.minSize must not be negative.");
+        }
+        this.minSize = size;
+    }
+
+    /**
+     * 按需压缩并设置 Content-Encoding/Vary，返回实际要写出的响应体。
+     */
+    public Buffer apply(HttpServerResponse response, String acceptEncoding, Buffer body) {
+        String encoding = enabled && body.length() >= minSize ? negotiate(acceptEncoding) : null;
+        if (encoding == null) {
+            if (serverCompression) {
+                response.putHeader("Content-Encoding", "identity");
+            }
+            return body;
+        }
+
+        Buffer compressed;
+        if (cache != null) {
+            String key = encoding + ":" + Digests.sha256(body);
+            compressed = cache.get(key);
+            if (compressed == null) {
+                compressed = compress(encoding, body);
+                cache.put(key, compressed);
+            }
+        } else {
+            compressed = compress(encoding, body);
+        }
+
+        response.putHeader("Content-Encoding", encoding);
+        response.headers().add("Vary", "Accept-Encoding");
+        return compressed;
+    }
+
+    //按配置的优先级，选第一个客户端接受（q > 0）的算法
+    String negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isEmpty()) {
+            return null;
+        }
+        for (String algorithm : algorithms) {
+            if (accepts(acceptEncoding, algorithm)) {
+                return algorithm;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Accept-Encoding 是否接受该编码：同名的项优先于 *，q=0 表示不接受。
+     */
+    public static boolean accepts(String acceptEncoding, String algorithm) {
+        return quality(acceptEncoding, algorithm) > 0;
+    }
+
+    /**
+     * Accept-Encoding 中该编码的 q 值：同名的项优先于 *，都没有时为 0。
+     */
+    public static double quality(String acceptEncoding, String algorithm) {
+        double wildcard = 0;
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.trim().split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase(algorithm)) {
+                return quality(parts);
+            }
+            if (name.equals("*")) {
+                wildcard = quality(parts);
+            }
+        }
+        return wildcard;
+    }
+
+    //没有 q 参数时为 1，无法解析时按不接受处理
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String param = parts[i].trim();
+            if (param.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(param.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    Buffer compress(String encoding, Buffer body) {
+        if (encoding.equals("br")) {
+            return brotli(body);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, body.length() / 4));
+        //自定义的 Deflater 不会随流关闭释放，需要手动 end
+        Deflater deflater = encoding.equals("deflate") ? new Deflater(level) : null;
+        try (OutputStream stream = deflater != null ? new DeflaterOutputStream(out, deflater) : gzip(out)) {
+            stream.write(body.getBytes());
+        } catch (IOException e) {
+            throw new ServerException("compress response failed.", e);
+        } finally {
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+        return Buffer.buffer(out.toByteArray());
+    }
+
+    private OutputStream gzip(OutputStream out) throws IOException {
+        return new GZIPOutputStream(out) {
+            {
+                def.setLevel(level);
+            }
+        };
+    }
+
+    private static Buffer brotli(Buffer body) {
+        EmbeddedChannel channel = new EmbeddedChannel(new BrotliEncoder());
+        try {
+            channel.writeOutbound(Unpooled.wrappedBuffer(body.getBytes()));
+            channel.finish();
+            Buffer out = Buffer.buffer();
+            ByteBuf chunk;
+            while ((chunk = channel.readOutbound()) != null) {
+                byte[] bytes = new byte[chunk.readableBytes()];
+                chunk.readBytes(bytes);
+                chunk.release();
+                out.appendBytes(bytes);
+            }
+            return out;
+        } finally {
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    private static boolean brotliAvailable() {
+        try {
+            return Brotli.isAvailable();
+        } catch (Throwable e) {
+            logger.debug("brotli is not available.", e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.format;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 路由级的 Accept 协商。扫描时按路由允许的格式生成查找表，请求时按媒体类型查表；
+ * 常见的 Accept 原文另有一个有界的结果表，重复的请求头不再解析。
+ */
+public class ContentNegotiator {
+
+    //Accept 原文的结果表上限
+    private final static int MEMO_SIZE = 64;
+
+    private final WireFormat defaultFormat;
+
+    private final Map<String, WireFormat> table = new HashMap<>();
+
+    private final Map<String, WireFormat> memo = new ConcurrentHashMap<>();
+
+    public ContentNegotiator(WireFormat defaultFormat, Set<WireFormat> formats) {
+        this.defaultFormat = defaultFormat;
+        EnumSet<WireFormat> allowed = EnumSet.copyOf(formats);
+        allowed.add(defaultFormat);
+        //缺少 dataformat 模块的格式不参与协商
+        allowed.removeIf(format -> !format.available() && format != defaultFormat);
+        for (WireFormat format : allowed) {
+            for (String mediaType : format.mediaTypes()) {
+                table.put(mediaType, format);
+            }
+        }
+    }
+
+    /**
+     * 选出 q 值最高的可用格式，没有匹配时使用默认格式。
+     */
+    public WireFormat negotiate(String accept) {
+        if (accept == null || accept.isEmpty()) {
+            return defaultFormat;
+        }
+        WireFormat format = memo.get(accept);
+        if (format != null) {
+            return format;
+        }
+        format = parse(accept);
+        if (memo.size() < MEMO_SIZE) {
+            memo.put(accept, format);
+        }
+        return format;
+    }
+
+    private WireFormat parse(String accept) {
+        WireFormat best = null;
+        double bestQ = 0;
+        for (String token : accept.split(",")) {
+            String[] parts = token.split(";");
+            String mediaType = parts[0].trim().toLowerCase();
+            double q = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        q = Double.parseDouble(param.substring(2));
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            WireFormat format = table.get(mediaType);
+            if (format == null && (mediaType.equals("*/*") || mediaType.equals("application/*"))) {
+                format = defaultFormat;
+            }
+            if (format != null && q > bestQ) {
+                best = format;
+                bestQ = q;
+            }
+        }
+        return best != null ? best : defaultFormat;
+    }
+
+    public WireFormat defaultFormat() {
+        return defaultFormat;
+    }
+}
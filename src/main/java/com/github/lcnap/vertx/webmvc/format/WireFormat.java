@@ -0,0 +1,196 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.format;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.github.lcnap.vertx.webmvc.ClientException;
+import com.github.lcnap.vertx.webmvc.ServerException;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 请求体与响应体的序列化格式。二进制格式基于 Jackson dataformat 模块，ObjectMapper 在首次使用时创建。
+ * dataformat 模块是可选依赖，classpath 上没有的格式不可用：不参与协商，对应的 Content-Type 按未知类型处理。
+ */
+public enum WireFormat {
+    JSON("com.fasterxml.jackson.core.JsonFactory", "application/json"),
+    CBOR("com.fasterxml.jackson.dataformat.cbor.CBORFactory", "application/cbor"),
+    SMILE("com.fasterxml.jackson.dataformat.smile.SmileFactory", "application/x-jackson-smile"),
+    MSGPACK("org.msgpack.jackson.dataformat.MessagePackFactory", "application/msgpack", "application/x-msgpack");
+
+    private final static TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+
+    private final static TypeReference<List<Object>> LIST_TYPE = new TypeReference<>() {
+    };
+
+    //媒体类型（小写、不含参数）到可用的格式
+    private final static Map<String, WireFormat> BY_MEDIA_TYPE = new HashMap<>();
+
+    static {
+        for (WireFormat format : values()) {
+            if (!format.available) {
+                continue;
+            }
+            for (String mediaType : format.mediaTypes) {
+                BY_MEDIA_TYPE.put(mediaType, format);
+            }
+        }
+    }
+
+    //按类名加载，避免缺少可选依赖时本类无法加载
+    private final String factoryClass;
+
+    private final boolean available;
+
+    private final List<String> mediaTypes;
+
+    private volatile ObjectMapper mapper;
+
+    WireFormat(String factoryClass, String... mediaTypes) {
+        this.factoryClass = factoryClass;
+        this.available = present(factoryClass);
+        this.mediaTypes = List.of(mediaTypes);
+    }
+
+    private static boolean present(String className) {
+        try {
+            Class.forName(className, false, WireFormat.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    //对应的 dataformat 模块在 classpath 上
+    public boolean available() {
+        return available;
+    }
+
+    //响应使用的媒体类型
+    public String mediaType() {
+        return mediaTypes.get(0);
+    }
+
+    public List<String> mediaTypes() {
+        return mediaTypes;
+    }
+
+    /**
+     * 按 Content-Type 或 Accept 中的单个媒体类型查找，忽略参数与大小写；未知时返回 null。
+     */
+    public static WireFormat of(String mediaType) {
+        if (mediaType == null) {
+            return null;
+        }
+        int semicolon = mediaType.indexOf(';');
+        String type = (semicolon < 0 ? mediaType : mediaType.substring(0, semicolon)).trim().toLowerCase(Locale.ROOT);
+        return BY_MEDIA_TYPE.get(type);
+    }
+
+    public Buffer encode(Object value) {
+        if (this == JSON) {
+            return Json.encodeToBuffer(value);
+        }
+        try {
+            return Buffer.buffer(mapper().writeValueAsBytes(value));
+        } catch (IOException e) {
+            throw new ServerException("encode " + name() + " failed.", e);
+        }
+    }
+
+    //请求体解码为 JsonObject，用于参数绑定
+    public JsonObject decodeObject(Buffer body) {
+        if (this == JSON) {
+            return body.toJsonObject();
+        }
+        try {
+            return new JsonObject(mapper().readValue(body.getBytes(), MAP_TYPE));
+        } catch (IOException e) {
+            throw new ClientException("bad " + name() + " body.", e);
+        }
+    }
+
+    //解码为 JsonArray
+    public JsonArray decodeArray(Buffer body) {
+        if (this == JSON) {
+            return body.toJsonArray();
+        }
+        try {
+            return new JsonArray(mapper().readValue(body.getBytes(), LIST_TYPE));
+        } catch (IOException e) {
+            throw new ClientException("bad " + name() + " body.", e);
+        }
+    }
+
+    private ObjectMapper mapper() {
+        ObjectMapper current = mapper;
+        if (current == null) {
+            synchronized (this) {
+                current = mapper;
+                if (current == null) {
+                    current = new ObjectMapper(factory()).registerModule(vertxTypes());
+                    mapper = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private JsonFactory factory() {
+        if (!available) {
+            throw new ServerException(name() + " requires " + factoryClass + " on the classpath.");
+        }
+        try {
+            return (JsonFactory) Class.forName(factoryClass, true, WireFormat.class.getClassLoader())
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new ServerException("create " + name() + " factory failed.", e);
+        }
+    }
+
+    //JsonObject/JsonArray 按其内部的 Map/List 输出
+    private static SimpleModule vertxTypes() {
+        SimpleModule module = new SimpleModule("webmvc-vertx-types");
+        module.addSerializer(JsonObject.class, new JsonSerializer<>() {
+            @Override
+            public void serialize(JsonObject value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+                provider.defaultSerializeValue(value.getMap(), gen);
+            }
+        });
+        module.addSerializer(JsonArray.class, new JsonSerializer<>() {
+            @Override
+            public void serialize(JsonArray value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+                provider.defaultSerializeValue(value.getList(), gen);
+            }
+        });
+        return module;
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.handler;
+
+import com.github.lcnap.vertx.webmvc.limit.ConcurrencyLimiter;
+import com.github.lcnap.vertx.webmvc.metrics.WebMetrics;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 阻塞路由的自适应并发限制，挂在 blockingHandler 之前，超出限制的请求直接返回 503。
+ * 名额在方法执行结束且响应结束后才释放：超时的请求已经返回 503，但 worker 仍在执行时继续占用名额。
+ * blockingHandler 需要用 around 包装。耗时从进入该 handler 开始计算，包含在 worker 队列中等待的时间。
+ * <p>
+ * 配置（http-server.json 的 concurrencyLimit 节点）：
+ * initialLimit、minLimit、maxLimit、tolerance、backoff。没有该节点时不限制，运行时加上该节点后开始限制，删除后不再限制。
+ */
+public class ConcurrencyLimitHandler implements Handler<RoutingContext> {
+
+    private final static String PERMIT_KEY = "webmvc.concurrencyPermit";
+
+    //为 null 时不限制
+    private volatile ConcurrencyLimiter limiter;
+
+    public ConcurrencyLimitHandler(ConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public void handle(RoutingContext rc) {
+        ConcurrencyLimiter limiter = this.limiter;
+        if (limiter == null) {
+            rc.next();
+            return;
+        }
+        if (!limiter.tryAcquire()) {
+            rc.response().setStatusCode(503).putHeader("Retry-After", "1").end("server busy.");
+            return;
+        }
+        Permit permit = new Permit(limiter);
+        rc.put(PERMIT_KEY, permit);
+        rc.addEndHandler(permit);
+        rc.next();
+    }
+
+    /**
+     * 包装 blockingHandler 中执行的方法，方法返回（或抛出异常）时标记执行结束。
+     */
+    public static Handler<RoutingContext> around(Handler<RoutingContext> invocation) {
+        return rc -> {
+            try {
+                invocation.handle(rc);
+            } finally {
+                Permit permit = rc.get(PERMIT_KEY);
+                if (permit != null) {
+                    permit.finish(true);
+                }
+            }
+        };
+    }
+
+    //执行结束与响应结束都发生后释放，以较晚的一个计算耗时
+    private static final class Permit implements Handler<AsyncResult<Void>> {
+
+        private final ConcurrencyLimiter limiter;
+
+        private final long start = System.nanoTime();
+
+        private final AtomicInteger pending = new AtomicInteger(2);
+
+        //响应未正常结束（如连接断开）时不作为样本
+        private volatile boolean failed;
+
+        Permit(ConcurrencyLimiter limiter) {
+            this.limiter = limiter;
+        }
+
+        @Override
+        public void handle(AsyncResult<Void> ar) {
+            finish(ar.succeeded());
+        }
+
+        void finish(boolean succeeded) {
+            if (!succeeded) {
+                failed = true;
+            }
+            if (pending.decrementAndGet() != 0) {
+                return;
+            }
+            if (failed) {
+                limiter.release();
+            } else {
+                limiter.release(System.nanoTime() - start);
+            }
+        }
+    }
+
+    //未开启时为 null
+    public ConcurrencyLimiter limiter() {
+        return limiter;
+    }
+
+    /**
+     * 运行时修改参数：空配置表示不再限制；从未开启到开启时按 initialLimit 新建，否则保留当前限制与在途计数。
+     * 已占用的名额归还给占用时的 limiter。
+     */
+    public synchronized void reconfigure(JsonObject config) {
+        if (config.isEmpty()) {
+            this.limiter = null;
+        } else if (this.limiter == null) {
+            this.limiter = limiter(config);
+        } else {
+            this.limiter.reconfigure(
+                    config.getInteger("minLimit", 1),
+                    config.getInteger("maxLimit", 200),
+                    config.getDouble("tolerance", 2.0),
+                    config.getDouble("backoff", 0.9));
+        }
+    }
+
+    private static ConcurrencyLimiter limiter(JsonObject config) {
+        return new ConcurrencyLimiter(
+                config.getInteger("initialLimit", 20),
+                config.getInteger("minLimit", 1),
+                config.getInteger("maxLimit", 200),
+                config.getDouble("tolerance", 2.0),
+                config.getDouble("backoff", 0.9));
+    }
+
+    /**
+     * path 用于指标名：webmvc.concurrency.{path}.limit；config 为 null 时先不限制。
+     */
+    public static ConcurrencyLimitHandler create(String path, JsonObject config) {
+        ConcurrencyLimitHandler handler = new ConcurrencyLimitHandler(config != null ? limiter(config) : null);
+        WebMetrics.gauge("webmvc.concurrency." + path + ".limit", () -> {
+            ConcurrencyLimiter current = handler.limiter;
+            return current != null ? current.limit() : 0;
+        });
+        WebMetrics.gauge("webmvc.concurrency." + path + ".inFlight", () -> {
+            ConcurrencyLimiter current = handler.limiter;
+            return current != null ? current.inFlight() : 0;
+        });
+        WebMetrics.gauge("webmvc.concurrency." + path + ".rejected", () -> {
+            ConcurrencyLimiter current = handler.limiter;
+            return current != null ? current.rejected() : 0L;
+        });
+        return handler;
+    }
+}
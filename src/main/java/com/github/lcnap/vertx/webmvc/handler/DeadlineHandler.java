@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.handler;
+
+import com.github.lcnap.vertx.webmvc.Deadline;
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 请求截止时间。按路由 timeout 与请求头 X-Request-Timeout 取较早者，到期时结束响应并通知 Deadline。
+ */
+public class DeadlineHandler implements Handler<RoutingContext> {
+    private final static Logger logger = LoggerFactory.getLogger(DeadlineHandler.class);
+
+    //路由超时，0 表示不限制
+    private final long timeout;
+
+    public DeadlineHandler(long timeout) {
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void handle(RoutingContext rc) {
+        long clientTimeout = clientTimeout(rc);
+        if (timeout <= 0 && clientTimeout < 0) {
+            rc.next();
+            return;
+        }
+
+        boolean fromClient = clientTimeout >= 0 && (timeout <= 0 || clientTimeout < timeout);
+        Deadline deadline = Deadline.of(fromClient ? clientTimeout : timeout, fromClient);
+        rc.put(Deadline.KEY, deadline);
+
+        long timerId = rc.vertx().setTimer(Math.max(1, deadline.remaining()), id -> expire(rc, deadline));
+        rc.addEndHandler(v -> rc.vertx().cancelTimer(timerId));
+        rc.next();
+    }
+
+    private void expire(RoutingContext rc, Deadline deadline) {
+        HttpServerResponse response = rc.response();
+        if (!response.headWritten()) {
+            try {
+                response.setStatusCode(deadline.fromClient() ? 504 : 503).end("request timeout.");
+            } catch (IllegalStateException e) {
+                //业务线程同时写出了响应
+                logger.debug("response written while expiring.", e);
+            }
+        }
+        deadline.expire();
+    }
+
+    //请求头中的截止时间，缺失或无效时返回 -1
+    private static long clientTimeout(RoutingContext rc) {
+        String header = rc.request().getHeader(Deadline.HEADER);
+        if (header == null) {
+            return -1;
+        }
+        try {
+            return Math.max(0, Long.parseLong(header.trim()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    public static DeadlineHandler create(long timeout) {
+        return new DeadlineHandler(timeout);
+    }
+}
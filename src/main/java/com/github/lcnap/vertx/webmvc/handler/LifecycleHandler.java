@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.handler;
+
+import com.github.lcnap.vertx.webmvc.WebApplication;
+import io.vertx.core.Handler;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 应用状态与在途请求计数，挂在根路由的第一个 handler。
+ * 停机排空期间给响应加 Connection: close，让客户端不再复用连接；readiness 路由此时返回 503，负载均衡据此摘除节点。
+ */
+public class LifecycleHandler implements Handler<RoutingContext> {
+
+    private volatile WebApplication.State state = WebApplication.State.STARTING;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    @Override
+    public void handle(RoutingContext rc) {
+        inFlight.incrementAndGet();
+        rc.addEndHandler(v -> inFlight.decrementAndGet());
+        if (state == WebApplication.State.DRAINING) {
+            rc.response().putHeader("Connection", "close");
+        }
+        rc.next();
+    }
+
+    /**
+     * readiness 路由：READY 时返回 200，其余状态返回 503，响应体为状态名。
+     */
+    public Handler<RoutingContext> readiness() {
+        return rc -> {
+            WebApplication.State current = state;
+            rc.response()
+                    .setStatusCode(current == WebApplication.State.READY ? 200 : 503)
+                    .putHeader("content-type", "text/plain; charset=utf-8")
+                    .end(current.name());
+        };
+    }
+
+    public WebApplication.State state() {
+        return state;
+    }
+
+    public void state(WebApplication.State state) {
+        this.state = state;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public static LifecycleHandler create() {
+        return new LifecycleHandler();
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.handler;
+
+import com.github.lcnap.vertx.webmvc.RateLimit;
+import com.github.lcnap.vertx.webmvc.ServerException;
+import com.github.lcnap.vertx.webmvc.limit.RateLimiter;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.net.SocketAddress;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 路由限流，挂在业务路由之前的前置路由上（先于 BodyHandler），超出限制时直接返回 429 与 Retry-After。
+ * <p>
+ * 全局配置（http-server.json 的 rateLimit 节点）：
+ * permits、period（秒）、burst、by（route/address/header）、header、maxKeys。
+ * 全局配置运行时修改后整体替换限流参数，已有的计数清零；启动时没有该节点的路由先不限流，
+ * 运行时加上该节点后开始限流，删除该节点时不再限流。
+ */
+public class RateLimitHandler implements Handler<RoutingContext> {
+
+    //定期清除已回满的桶
+    private final static long SWEEP_INTERVAL = 30_000;
+
+    //限流参数整体替换，为 null 时不限流
+    private volatile Policy policy;
+
+    //limiter 为 null 时不限流
+    public RateLimitHandler(RateLimiter limiter, RateLimit.By by, String header) {
+        this.policy = limiter != null ? new Policy(limiter, by, header) : null;
+    }
+
+    /**
+     * 整个应用一个定时器，定期清除各 handler 中已回满的桶。
+     */
+    public static long sweepPeriodically(Vertx vertx, Collection<RateLimitHandler> handlers) {
+        return vertx.setPeriodic(SWEEP_INTERVAL, id -> handlers.forEach(RateLimitHandler::sweep));
+    }
+
+    public void sweep() {
+        Policy current = this.policy;
+        if (current != null && current.by != RateLimit.By.ROUTE) {
+            current.limiter.sweep();
+        }
+    }
+
+    @Override
+    public void handle(RoutingContext rc) {
+        long wait = acquire(rc);
+        if (wait == 0) {
+            rc.next();
+            return;
+        }
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1));
+        rc.response()
+                .setStatusCode(429)
+                .putHeader("Retry-After", String.valueOf(retryAfter))
+                .end("too many requests.");
+    }
+
+    /**
+     * 为一次请求获取许可，成功或未开启时返回 0，否则返回需要等待的纳秒数。批量请求的每一项也按此计数。
+     */
+    public long acquire(RoutingContext rc) {
+        Policy policy = this.policy;
+        return policy == null ? 0 : policy.limiter.acquire(key(rc, policy));
+    }
+
+    private static String key(RoutingContext rc, Policy policy) {
+        if (policy.by == RateLimit.By.ROUTE) {
+            return "";
+        }
+        if (policy.by == RateLimit.By.HEADER) {
+            String value = rc.request().getHeader(policy.header);
+            if (value != null && !value.isEmpty()) {
+                return value;
+            }
+        }
+        SocketAddress address = rc.request().remoteAddress();
+        return address == null ? "" : address.host();
+    }
+
+    public static RateLimitHandler create(RateLimit rateLimit) {
+        RateLimiter limiter = new RateLimiter(rateLimit.permits(), rateLimit.unit().toNanos(rateLimit.period()),
+                rateLimit.burst(), rateLimit.maxKeys());
+        return new RateLimitHandler(limiter, rateLimit.by(), rateLimit.header());
+    }
+
+    public boolean enabled() {
+        return policy != null;
+    }
+
+    /**
+     * 按新的全局配置替换限流参数，空配置表示不再限流。
+     */
+    public void reconfigure(JsonObject config) {
+        this.policy = config.isEmpty() ? null : policy(config);
+    }
+
+    /**
+     * 按全局配置创建，config 为 null 时先不限流，之后由 reconfigure 开启。
+     */
+    public static RateLimitHandler create(JsonObject config) {
+        RateLimitHandler handler = new RateLimitHandler(null, null, null);
+        if (config != null) {
+            handler.reconfigure(config);
+        }
+        return handler;
+    }
+
+    private static Policy policy(JsonObject config) {
+        Long permits = config.getLong("permits");
+        if (permits == null) {
+            throw new ServerException("rateLimit.permits is required.");
+        }
+        RateLimiter limiter = new RateLimiter(permits,
+                TimeUnit.SECONDS.toNanos(config.getLong("period", 1L)),
+                config.getLong("burst", 0L), config.getInteger("maxKeys", 10000));
+        RateLimit.By by = RateLimit.By.valueOf(config.getString("by", "address").toUpperCase(Locale.ROOT));
+        return new Policy(limiter, by, config.getString("header", "X-Api-Key"));
+    }
+
+    private record Policy(RateLimiter limiter, RateLimit.By by, String header) {
+    }
+}
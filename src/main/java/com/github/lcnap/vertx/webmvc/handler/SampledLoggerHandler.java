@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.handler;
+
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.LoggerHandler;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 按比例记录访问日志，未抽中的请求不经过 LoggerHandler。
+ * 配置（http-server.json 的 accessLog 节点）：sampleRate，0 到 1，默认 1；运行时可修改。
+ */
+public class SampledLoggerHandler implements Handler<RoutingContext> {
+
+    private final LoggerHandler delegate;
+
+    private volatile double sampleRate = 1;
+
+    public SampledLoggerHandler(LoggerHandler delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void handle(RoutingContext rc) {
+        double rate = sampleRate;
+        if (rate >= 1 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate)) {
+            delegate.handle(rc);
+        } else {
+            rc.next();
+        }
+    }
+
+    public void reconfigure(JsonObject config) {
+        double rate = config.getDouble("sampleRate", 1.0);
+        if (rate < 0 || rate > 1) {
+            throw new IllegalArgumentException("accessLog.sampleRate must be between 0 and 1.");
+        }
+        this.sampleRate = rate;
+    }
+
+    public double sampleRate() {
+        return sampleRate;
+    }
+
+    public static SampledLoggerHandler create(LoggerHandler delegate, JsonObject config) {
+        SampledLoggerHandler handler = new SampledLoggerHandler(delegate);
+        handler.reconfigure(config);
+        return handler;
+    }
+}
@@ -0,0 +1,366 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.lcnap.vertx.webmvc.handler;
+
+import com.github.lcnap.vertx.webmvc.compression.ResponseCompressor;
+import com.github.lcnap.vertx.webmvc.utils.Digests;
+import com.github.lcnap.vertx.webmvc.utils.LruCache;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.FileSystem;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.StaticHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 静态资源。
+ * 小文件缓存在内存中，以内容哈希作为强 ETag；大文件用 sendFile 零拷贝发送；
+ * 客户端支持时优先发送预先生成的 .br/.gz 文件；文件名带内容指纹时返回长期缓存头。
+ * Range 请求、目录等其余情况交给 vertx 的 StaticHandler。
+ * <p>
+ * 配置（http-server.json 的 static 节点）：
+ * root、path、maxAgeSeconds、filesReadOnly、cacheEntryTimeout、
+ * maxMemoryFileSize、maxMemoryCacheSize、precompressed、buildCompressed、compressMinSize。
+ */
+public class StaticAssetHandler implements Handler<RoutingContext> {
+    private final static Logger logger = LoggerFactory.getLogger(StaticAssetHandler.class);
+
+    //带内容指纹的文件名，如 app.3f2a9c1b.js、logo-9b1e22aa07.png
+    private final static Pattern FINGERPRINT = Pattern.compile(".*[.-][0-9a-fA-F]{8,}\\.[A-Za-z0-9]+$");
+
+    private final static long IMMUTABLE_MAX_AGE = 365L * 24 * 3600;
+
+    private final static DateTimeFormatter HTTP_DATE = DateTimeFormatter.RFC_1123_DATE_TIME.withZone(ZoneOffset.UTC);
+
+    private final static Set<String> COMPRESSIBLE = Set.of(
+            "html", "htm", "css", "js", "mjs", "json", "map", "svg", "txt", "xml", "csv");
+
+    private final static Map<String, String> CONTENT_TYPES = Map.ofEntries(
+            Map.entry("html", "text/html; charset=utf-8"),
+            Map.entry("htm", "text/html; charset=utf-8"),
+            Map.entry("css", "text/css; charset=utf-8"),
+            Map.entry("js", "text/javascript; charset=utf-8"),
+            Map.entry("mjs", "text/javascript; charset=utf-8"),
+            Map.entry("json", "application/json; charset=utf-8"),
+            Map.entry("map", "application/json; charset=utf-8"),
+            Map.entry("txt", "text/plain; charset=utf-8"),
+            Map.entry("csv", "text/csv; charset=utf-8"),
+            Map.entry("xml", "application/xml; charset=utf-8"),
+            Map.entry("svg", "image/svg+xml"),
+            Map.entry("png", "image/png"),
+            Map.entry("jpg", "image/jpeg"),
+            Map.entry("jpeg", "image/jpeg"),
+            Map.entry("gif", "image/gif"),
+            Map.entry("webp", "image/webp"),
+            Map.entry("avif", "image/avif"),
+            Map.entry("ico", "image/x-icon"),
+            Map.entry("woff", "font/woff"),
+            Map.entry("woff2", "font/woff2"),
+            Map.entry("ttf", "font/ttf"),
+            Map.entry("wasm", "application/wasm"),
+            Map.entry("pdf", "application/pdf"));
+
+    private record Variant(String encoding, String path, long size, Buffer body) {
+    }
+
+    private record Asset(String path, long size, long lastModified, String contentType, String etag,
+                         Buffer body, Variant br, Variant gzip, long validatedAt) {
+
+        long weight() {
+            long weight = 256;
+            if (body != null) {
+                weight += body.length();
+            }
+            if (br != null && br.body() != null) {
+                weight += br.body().length();
+            }
+            if (gzip != null && gzip.body() != null) {
+                weight += gzip.body().length();
+            }
+            return weight;
+        }
+    }
+
+    private final Vertx vertx;
+
+    private final String root;
+
+    private final String mountPrefix;
+
+    private final long maxAgeSeconds;
+
+    private final boolean filesReadOnly;
+
+    private final long cacheEntryTimeout;
+
+    private final long maxMemoryFileSize;
+
+    private final boolean precompressed;
+
+    private final LruCache<String, Asset> cache;
+
+    private final StaticHandler fallback;
+
+    public StaticAssetHandler(Vertx vertx, JsonObject config) {
+        this.vertx = vertx;
+        this.root = config.getString("root", "static");
+        this.mountPrefix = mountPath(config) + "/";
+        this.maxAgeSeconds = config.getLong("maxAgeSeconds", 86400L);
+        this.filesReadOnly = config.getBoolean("filesReadOnly", true);
+        this.cacheEntryTimeout = config.getLong("cacheEntryTimeout", 30_000L);
+        this.maxMemoryFileSize = config.getLong("maxMemoryFileSize", 64 * 1024L);
+        this.precompressed = config.getBoolean("precompressed", true);
+        this.cache = new LruCache<>(config.getLong("maxMemoryCacheSize", 32 * 1024 * 1024L), Asset::weight);
+        this.fallback = StaticHandler.create(root).setMaxAgeSeconds(maxAgeSeconds);
+    }
+
+    public static StaticAssetHandler create(Vertx vertx, JsonObject config) {
+        return new StaticAssetHandler(vertx, config == null ? new JsonObject() : config);
+    }
+
+    //路由挂载点，不以 / 结尾
+    public static String mountPath(JsonObject config) {
+        String path = config == null ? "/static" : config.getString("path", "/static");
+        return path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+
+    @Override
+    public void handle(RoutingContext rc) {
+        HttpMethod method = rc.request().method();
+        if (method != HttpMethod.GET && method != HttpMethod.HEAD) {
+            rc.next();
+            return;
+        }
+        String name = relativePath(rc.normalizedPath());
+        if (name == null || rc.request().getHeader("Range") != null) {
+            fallback.handle(rc);
+            return;
+        }
+
+        Asset asset = cache.get(name);
+        if (asset != null && (filesReadOnly || System.currentTimeMillis() - asset.validatedAt() < cacheEntryTimeout)) {
+            serve(rc, asset);
+            return;
+        }
+
+        load(name, asset).onComplete(ar -> {
+            //不存在或不是普通文件，由 StaticHandler 处理（404、目录等）
+            if (ar.failed() || ar.result() == null) {
+                fallback.handle(rc);
+            } else {
+                serve(rc, ar.result());
+            }
+        });
+    }
+
+    private String relativePath(String path) {
+        if (path == null || !path.startsWith(mountPrefix)) {
+            return null;
+        }
+        String name = path.substring(mountPrefix.length());
+        if (name.isEmpty() || name.endsWith("/") || name.contains("..") || name.startsWith(".") || name.contains("/.")) {
+            return null;
+        }
+        return name;
+    }
+
+    //读取文件并放入缓存；不是普通文件时返回 null
+    private Future<Asset> load(String name, Asset previous) {
+        FileSystem fs = vertx.fileSystem();
+        String path = root + "/" + name;
+        return fs.props(path).compose(props -> {
+            if (!props.isRegularFile()) {
+                return Future.succeededFuture(null);
+            }
+            long now = System.currentTimeMillis();
+            //文件未变化，只刷新校验时间
+            if (previous != null && previous.size() == props.size() && previous.lastModified() == props.lastModifiedTime()) {
+                Asset refreshed = new Asset(previous.path(), previous.size(), previous.lastModified(), previous.contentType(),
+                        previous.etag(), previous.body(), previous.br(), previous.gzip(), now);
+                cache.put(name, refreshed);
+                return Future.succeededFuture(refreshed);
+            }
+
+            String contentType = contentType(name);
+            boolean inMemory = props.size() <= maxMemoryFileSize;
+            Future<Buffer> body = inMemory ? fs.readFile(path) : Future.succeededFuture(null);
+            Future<Variant> br = precompressed ? variant(fs, "br", path + ".br", inMemory) : Future.succeededFuture(null);
+            Future<Variant> gzip = precompressed ? variant(fs, "gzip", path + ".gz", inMemory) : Future.succeededFuture(null);
+
+            return Future.all(body, br, gzip).map(v -> {
+                Buffer content = body.result();
+                String etag = content != null
+                        ? "\"" + Digests.sha256(content) + "\""
+                        : "W/\"" + Long.toHexString(props.size()) + "-" + Long.toHexString(props.lastModifiedTime()) + "\"";
+                Asset asset = new Asset(path, props.size(), props.lastModifiedTime(), contentType, etag,
+                        content, br.result(), gzip.result(), now);
+                cache.put(name, asset);
+                return asset;
+            });
+        });
+    }
+
+    private Future<Variant> variant(FileSystem fs, String encoding, String path, boolean inMemory) {
+        return fs.exists(path).compose(exists -> {
+            if (!exists) {
+                return Future.succeededFuture(null);
+            }
+            return fs.props(path).compose(props -> {
+                if (!inMemory) {
+                    return Future.succeededFuture(new Variant(encoding, path, props.size(), null));
+                }
+                return fs.readFile(path).map(buffer -> new Variant(encoding, path, props.size(), buffer));
+            });
+        });
+    }
+
+    private void serve(RoutingContext rc, Asset asset) {
+        HttpServerResponse response = rc.response();
+        Variant variant = selectVariant(rc.request().getHeader("Accept-Encoding"), asset);
+        String etag = variant == null ? asset.etag() : withSuffix(asset.etag(), variant.encoding());
+
+        response.putHeader("Content-Type", asset.contentType());
+        response.putHeader("ETag", etag);
+        response.putHeader("Last-Modified", HTTP_DATE.format(Instant.ofEpochMilli(asset.lastModified())));
+        response.putHeader("Cache-Control", cacheControl(asset.path()));
+        if (asset.br() != null || asset.gzip() != null) {
+            response.putHeader("Vary", "Accept-Encoding");
+        }
+        if (variant != null) {
+            response.putHeader("Content-Encoding", variant.encoding());
+        }
+
+        String ifNoneMatch = rc.request().getHeader("If-None-Match");
+        if (ifNoneMatch != null && (ifNoneMatch.equals("*") || ifNoneMatch.contains(etag))) {
+            response.setStatusCode(304).end();
+            return;
+        }
+
+        Buffer body = variant == null ? asset.body() : variant.body();
+        long size = variant == null ? asset.size() : variant.size();
+        if (rc.request().method() == HttpMethod.HEAD) {
+            response.putHeader("Content-Length", String.valueOf(size)).end();
+            return;
+        }
+        if (body != null) {
+            response.end(body);
+        } else {
+            //大文件零拷贝
+            response.sendFile(variant == null ? asset.path() : variant.path())
+                    .onFailure(e -> logger.warn("send file {} failed.", asset.path(), e));
+        }
+    }
+
+    //br 优先，q=0 的编码不选
+    private static Variant selectVariant(String acceptEncoding, Asset asset) {
+        if (acceptEncoding == null || acceptEncoding.isEmpty()) {
+            return null;
+        }
+        //q 值高的优先，相同时用体积更小的 br
+        double br = asset.br() != null ? ResponseCompressor.quality(acceptEncoding, "br") : 0;
+        double gzip = asset.gzip() != null ? ResponseCompressor.quality(acceptEncoding, "gzip") : 0;
+        if (br > 0 && br >= gzip) {
+            return asset.br();
+        }
+        if (gzip > 0) {
+            return asset.gzip();
+        }
+        return null;
+    }
+
+    //不同编码是不同的表示，强 ETag 需要区分
+    private static String withSuffix(String etag, String encoding) {
+        return etag.substring(0, etag.length() - 1) + "-" + encoding + "\"";
+    }
+
+    private String cacheControl(String path) {
+        if (FINGERPRINT.matcher(path).matches()) {
+            return "public, max-age=" + IMMUTABLE_MAX_AGE + ", immutable";
+        }
+        return "public, max-age=" + maxAgeSeconds;
+    }
+
+    private static String extension(String name) {
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? "" : name.substring(dot + 1).toLowerCase();
+    }
+
+    private static String contentType(String name) {
+        return CONTENT_TYPES.getOrDefault(extension(name), "application/octet-stream");
+    }
+
+    /**
+     * 为 root 目录下可压缩的文本文件生成 .gz 文件（已存在且不旧于源文件时跳过）。
+     * 只处理文件系统上的目录，classpath 中的资源无法写入。会阻塞，在 worker 线程调用。
+     */
+    public static int buildCompressedVariants(JsonObject config) {
+        Path root = Paths.get(config.getString("root", "static"));
+        if (!Files.isDirectory(root)) {
+            return 0;
+        }
+        long minSize = config.getLong("compressMinSize", 1024L);
+        int count = 0;
+        try (Stream<Path> files = Files.walk(root)) {
+            List<Path> candidates = files
+                    .filter(Files::isRegularFile)
+                    .filter(p -> COMPRESSIBLE.contains(extension(p.getFileName().toString())))
+                    .toList();
+            for (Path file : candidates) {
+                if (Files.size(file) < minSize) {
+                    continue;
+                }
+                Path gz = file.resolveSibling(file.getFileName() + ".gz");
+                if (Files.exists(gz) && Files.getLastModifiedTime(gz).compareTo(Files.getLastModifiedTime(file)) >= 0) {
+                    continue;
+                }
+                try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gz)) {
+                    {
+                        def.setLevel(9);
+                    }
+                }) {
+                    Files.copy(file, out);
+                }
+                count++;
+            }
+        } catch (IOException e) {
+            logger.warn("build compressed static files failed.", e);
+        }
+        logger.info("built {} compressed static files.", count);
+        return count;
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.VerticleBase;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.ext.web.Router;
+
+import java.util.List;
+
+/**
+ * 每个实例在自己的 event loop 上监听同一端口，共用同一个 Router。
+ */
+class AcceptorVerticle extends VerticleBase {
+
+    private final HttpServerOptions options;
+
+    private final Router router;
+
+    private final List<HttpServer> servers;
+
+    AcceptorVerticle(HttpServerOptions options, Router router, List<HttpServer> servers) {
+        this.options = options;
+        this.router = router;
+        this.servers = servers;
+    }
+
+    @Override
+    public Future<?> start() {
+        HttpServer server = vertx.createHttpServer(options).requestHandler(router);
+        servers.add(server);
+        return server.listen();
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.impl;
+
+import io.vertx.config.ConfigRetriever;
+import io.vertx.config.ConfigRetrieverOptions;
+import io.vertx.config.ConfigStoreOptions;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 运行时配置。配置文件经 vertx-config 的 ConfigRetriever 按 scanPeriod 检查变更，
+ * 叠加系统属性（-Dwebmvc.config.a.b=v）与环境变量（WEBMVC_CONFIG，JSON 对象）后，
+ * 按顶层节点比较，只通知内容变化的节点的监听者；各组件整体替换自己的参数，正在处理的请求不受影响。
+ * <p>
+ * 配置（http-server.json 的 reload 节点）：scanPeriod（毫秒，默认 5000）。没有该节点时不监视文件，叠加仍然生效。
+ */
+public class RuntimeConfig {
+    private final static Logger logger = LoggerFactory.getLogger(RuntimeConfig.class);
+
+    private final static String PROPERTY_PREFIX = "webmvc.config.";
+
+    private final static String ENV = "WEBMVC_CONFIG";
+
+    private final Map<String, List<Consumer<JsonObject>>> listeners = new ConcurrentHashMap<>();
+
+    private volatile JsonObject current = new JsonObject();
+
+    private ConfigRetriever retriever;
+
+    public JsonObject current() {
+        return current;
+    }
+
+    /**
+     * 节点变化时回调新的节点内容，节点被删除时回调空对象。
+     */
+    public void onChange(String section, Consumer<JsonObject> listener) {
+        listeners.computeIfAbsent(section, k -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    void init(JsonObject config) {
+        current = config;
+    }
+
+    //开始监视配置文件，每次读取都重新叠加系统属性与环境变量
+    void watch(Vertx vertx, String path, JsonObject reload) {
+        ConfigStoreOptions file = new ConfigStoreOptions()
+                .setType("file")
+                .setFormat("json")
+                .setConfig(new JsonObject().put("path", path));
+        retriever = ConfigRetriever.create(vertx, new ConfigRetrieverOptions()
+                .setScanPeriod(reload.getLong("scanPeriod", 5000L))
+                .addStore(file));
+        retriever.setConfigurationProcessor(RuntimeConfig::overlay);
+        retriever.listen(change -> apply(change.getNewConfiguration()));
+    }
+
+    void close() {
+        if (retriever != null) {
+            retriever.close();
+        }
+    }
+
+    void apply(JsonObject next) {
+        JsonObject previous = current;
+        current = next;
+        for (Map.Entry<String, List<Consumer<JsonObject>>> entry : listeners.entrySet()) {
+            String section = entry.getKey();
+            Object before = previous.getValue(section);
+            Object after = next.getValue(section);
+            if (Objects.equals(before, after)) {
+                continue;
+            }
+            JsonObject value = after instanceof JsonObject json ? json : new JsonObject();
+            logger.info("config section {} changed: {}", section, value);
+            for (Consumer<JsonObject> listener : entry.getValue()) {
+                try {
+                    listener.accept(value);
+                } catch (RuntimeException e) {
+                    //单个组件的参数不合法时保留其原有参数
+                    logger.error("apply config section {} failed.", section, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 叠加环境变量 WEBMVC_CONFIG 与 webmvc.config. 开头的系统属性，后者优先。
+     */
+    static JsonObject overlay(JsonObject config) {
+        JsonObject result = config.copy();
+        String env = System.getenv(ENV);
+        if (env != null && !env.isBlank()) {
+            result.mergeIn(new JsonObject(env), true);
+        }
+        System.getProperties().forEach((k, v) -> {
+            String key = k.toString();
+            if (key.startsWith(PROPERTY_PREFIX)) {
+                put(result, key.substring(PROPERTY_PREFIX.length()).split("\\."), v.toString());
+            }
+        });
+        return result;
+    }
+
+    //按路径写入，值能解析为 JSON 时按 JSON 类型
+    private static void put(JsonObject json, String[] path, String value) {
+        JsonObject node = json;
+        for (int i = 0; i < path.length - 1; i++) {
+            JsonObject child = node.getValue(path[i]) instanceof JsonObject object ? object : new JsonObject();
+            node.put(path[i], child);
+            node = child;
+        }
+        Object parsed;
+        try {
+            parsed = Json.decodeValue(value);
+        } catch (DecodeException e) {
+            parsed = value;
+        }
+        node.put(path[path.length - 1], parsed);
+    }
+}
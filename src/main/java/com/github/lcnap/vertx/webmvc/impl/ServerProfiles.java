@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.impl;
+
+import com.github.lcnap.vertx.webmvc.ServerException;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Map;
+
+/**
+ * http-server.json 中的调优模板。配置 profile 后，模板中的项作为默认值，配置文件中显式写出的项优先。
+ * 内置 latency 与 throughput，也可以在 profiles 节点中自定义或覆盖。
+ */
+public class ServerProfiles {
+
+    private final static Map<String, JsonObject> BUILT_IN = Map.of(
+            //低延迟：关闭 Nagle、立即 ACK，每个 event loop 一个 acceptor
+            "latency", new JsonObject()
+                    .put("tcpNoDelay", true)
+                    .put("tcpQuickAck", true)
+                    .put("tcpFastOpen", true)
+                    .put("reuseAddress", true)
+                    .put("reusePort", true)
+                    .put("acceptBacklog", 1024)
+                    .put("idleTimeout", 60)
+                    .put("acceptors", 0),
+            //高吞吐：更大的积压队列与收发缓冲区
+            "throughput", new JsonObject()
+                    .put("tcpNoDelay", true)
+                    .put("tcpKeepAlive", true)
+                    .put("reuseAddress", true)
+                    .put("reusePort", true)
+                    .put("acceptBacklog", 4096)
+                    .put("receiveBufferSize", 262144)
+                    .put("sendBufferSize", 262144)
+                    .put("idleTimeout", 120)
+                    .put("acceptors", 0));
+
+    /**
+     * 返回合并了 profile 的配置，未配置 profile 时原样返回。
+     */
+    public static JsonObject resolve(JsonObject config) {
+        String name = config.getString("profile");
+        if (name == null) {
+            return config;
+        }
+        JsonObject custom = config.getJsonObject("profiles", new JsonObject()).getJsonObject(name);
+        JsonObject profile = custom != null ? custom : BUILT_IN.get(name);
+        if (profile == null) {
+            throw new ServerException("unknown server profile: " + name);
+        }
+        return profile.copy().mergeIn(config);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.impl;
+
+import io.vertx.core.json.JsonObject;
+import org.slf4j.Logger;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 启动各阶段的耗时。阶段按完成顺序记录，每个阶段从上一个阶段结束时开始计时；
+ * READY 时输出一次，并附上 JVM 启动到 READY 的总时间，可以据此比较 AppCDS/AOT 缓存的效果。
+ */
+public class StartupReport {
+
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+
+    private long mark = System.nanoTime();
+
+    //READY 时的 JVM 运行毫秒数，未就绪时为 -1
+    private long readyAt = -1;
+
+    //记录从上一个阶段结束到现在的耗时
+    public synchronized void phase(String name) {
+        long now = System.nanoTime();
+        phases.merge(name, now - mark, Long::sum);
+        mark = now;
+    }
+
+    //记录在本对象创建之前完成的阶段，如创建 Vertx
+    public synchronized void record(String name, long nanos) {
+        phases.merge(name, nanos, Long::sum);
+    }
+
+    synchronized void ready() {
+        readyAt = ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+
+    public synchronized long readyAt() {
+        return readyAt;
+    }
+
+    //阶段名 -> 毫秒
+    public synchronized JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        JsonObject millis = new JsonObject();
+        phases.forEach((name, nanos) -> millis.put(name, TimeUnit.NANOSECONDS.toMillis(nanos)));
+        return json.put("phases", millis).put("jvmUptimeAtReady", readyAt);
+    }
+
+    synchronized void log(Logger logger) {
+        StringBuilder sb = new StringBuilder("startup phases:");
+        phases.forEach((name, nanos) -> sb.append(' ').append(name).append('=')
+                .append(TimeUnit.NANOSECONDS.toMillis(nanos)).append("ms"));
+        sb.append(", ready ").append(readyAt).append("ms after JVM start.");
+        logger.info(sb.toString());
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.impl;
+
+import com.github.lcnap.vertx.webmvc.ServerException;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.transport.Transport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 按配置文件的 vertx 节点创建 Vertx。
+ * transport 可选 auto（默认，依次尝试 io_uring、epoll、kqueue，都不可用时用 nio）、io_uring、epoll、kqueue、nio；
+ * 其余项按 VertxOptions 解析，如 eventLoopPoolSize、workerPoolSize。
+ * 原生传输需要 classpath 上有对应的 netty native 包，见 pom 的 native profile。
+ */
+public class Transports {
+    private final static Logger logger = LoggerFactory.getLogger(Transports.class);
+
+    private final static List<String> AUTO = List.of("io_uring", "epoll", "kqueue");
+
+    public static Vertx createVertx(JsonObject config) {
+        JsonObject vertxConfig = config.getJsonObject("vertx", new JsonObject());
+        VertxOptions options = new VertxOptions(vertxConfig);
+        Transport transport = select(vertxConfig.getString("transport", "auto"));
+        Vertx vertx = Vertx.builder().with(options).withTransport(transport).build();
+        logger.info("vertx created. native transport: {}", vertx.isNativeTransportEnabled());
+        return vertx;
+    }
+
+    static Transport select(String name) {
+        name = name.toLowerCase(Locale.ROOT);
+        if (name.equals("auto")) {
+            for (String candidate : AUTO) {
+                Transport transport = transport(candidate);
+                if (transport.available()) {
+                    return transport;
+                }
+                logger.debug("transport {} unavailable.", candidate, transport.unavailabilityCause());
+            }
+            return Transport.NIO;
+        }
+        Transport transport = transport(name);
+        if (!transport.available()) {
+            throw new ServerException("transport " + name + " is not available.", transport.unavailabilityCause());
+        }
+        return transport;
+    }
+
+    private static Transport transport(String name) {
+        return switch (name) {
+            case "io_uring" -> Transport.IO_URING;
+            case "epoll" -> Transport.EPOLL;
+            case "kqueue" -> Transport.KQUEUE;
+            case "nio" -> Transport.NIO;
+            default -> throw new ServerException("unknown transport: " + name);
+        };
+    }
+}
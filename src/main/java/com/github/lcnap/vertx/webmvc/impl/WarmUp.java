@@ -0,0 +1,206 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.impl;
+
+import com.github.lcnap.vertx.webmvc.HttpMethod;
+import com.github.lcnap.vertx.webmvc.Param;
+import com.github.lcnap.vertx.webmvc.annotation.RoutePlan;
+import com.github.lcnap.vertx.webmvc.stream.RequestBodyStreams;
+import com.github.lcnap.vertx.webmvc.utils.Reflection;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.HttpRequest;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.client.WebClientOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 就绪前的预热：通过本机连接重放请求，让反射、Jackson 序列化器、规则与模板的初始化和 JIT 编译发生在 READY 之前。
+ * <p>
+ * 配置（warmup 节点）：iterations 每个请求的次数（默认 100）、duration 最长毫秒数（默认 10000）、
+ * concurrency 并发数（默认 4）、generate 是否按参数类型为 GET 路由生成请求（默认 true）、
+ * requests 声明的请求 [{method, path, params, headers, body}]、file 记录的请求文件（格式同 requests）。
+ */
+public class WarmUp {
+    private final static Logger logger = LoggerFactory.getLogger(WarmUp.class);
+
+    private final Vertx vertx;
+
+    private final JsonObject config;
+
+    private final List<JsonObject> requests;
+
+    private final AtomicLong sent = new AtomicLong();
+
+    private final AtomicLong failed = new AtomicLong();
+
+    public WarmUp(Vertx vertx, JsonObject config, List<RoutePlan> plans) {
+        this.vertx = vertx;
+        this.config = config;
+        this.requests = new ArrayList<>();
+        config.getJsonArray("requests", new JsonArray()).forEach(entry -> requests.add((JsonObject) entry));
+        String file = config.getString("file");
+        if (file != null) {
+            vertx.fileSystem().readFileBlocking(file).toJsonArray().forEach(entry -> requests.add((JsonObject) entry));
+        }
+        if (config.getBoolean("generate", true)) {
+            plans.stream().map(WarmUp::generate).filter(Objects::nonNull).forEach(requests::add);
+        }
+    }
+
+    /**
+     * 为 GET 路由按参数类型生成一个请求；其他方法可能修改数据，只重放声明的请求。
+     * 注入请求体的方法与正则路由不生成。
+     */
+    static JsonObject generate(RoutePlan plan) {
+        if (!Arrays.asList(plan.annotation().method()).contains(HttpMethod.GET) || plan.path().contains("*")) {
+            return null;
+        }
+        JsonObject params = new JsonObject();
+        for (Parameter parameter : plan.parameters()) {
+            Class<?> type = parameter.getType();
+            if (RequestBodyStreams.isBodyParameter(type)) {
+                return null;
+            }
+            if (Reflection.isPrimitiveType(type)) {
+                params.put(parameter.getName(), sample(type, parameter.getAnnotation(Param.class)));
+            }
+        }
+        //路径参数用同名参数的样例值
+        StringBuilder path = new StringBuilder();
+        for (String segment : plan.path().split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            path.append('/');
+            if (segment.startsWith(":")) {
+                Object value = params.remove(segment.substring(1));
+                path.append(value != null ? value : "1");
+            } else {
+                path.append(segment);
+            }
+        }
+        return new JsonObject().put("method", "GET").put("path", path.length() == 0 ? "/" : path.toString()).put("params", params);
+    }
+
+    //优先用注解中的默认值、可选值与下限，使请求尽量通过校验
+    private static String sample(Class<?> type, Param param) {
+        if (param != null) {
+            if (!param.defaultValue().isEmpty()) {
+                return param.defaultValue();
+            }
+            if (param.limit().length > 0) {
+                return param.limit()[0];
+            }
+        }
+        if (type.equals(String.class)) {
+            return param != null && param.size() > 0 && param.size() < 6 ? "w".repeat(param.size()) : "warmup";
+        }
+        if (type.equals(Boolean.class) || type.equals(boolean.class)) {
+            return "true";
+        }
+        long value = param != null && param.min() > 1 ? param.min() : 1;
+        return String.valueOf(param != null ? Math.min(value, param.max()) : value);
+    }
+
+    public List<JsonObject> requests() {
+        return requests;
+    }
+
+    /**
+     * 按 host:port 重放请求，任意状态码都算完成；结果为 {requests, sent, failed, millis}。
+     */
+    public Future<JsonObject> run(String host, int port, boolean ssl) {
+        long start = System.nanoTime();
+        if (requests.isEmpty()) {
+            return Future.succeededFuture(result(start));
+        }
+        long total = (long) config.getInteger("iterations", 100) * requests.size();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(config.getLong("duration", 10_000L));
+        WebClient client = WebClient.create(vertx, new WebClientOptions()
+                .setDefaultHost(host).setDefaultPort(port)
+                .setSsl(ssl).setTrustAll(true).setVerifyHost(false));
+        AtomicLong next = new AtomicLong();
+        List<Future<Void>> workers = new ArrayList<>();
+        for (int i = 0; i < config.getInteger("concurrency", 4); i++) {
+            Promise<Void> promise = Promise.promise();
+            loop(client, next, total, deadline, promise);
+            workers.add(promise.future());
+        }
+        return Future.join(workers)
+                .onComplete(ar -> client.close())
+                .map(v -> {
+                    JsonObject result = result(start);
+                    logger.info("warm-up finished: {}", result.encode());
+                    return result;
+                });
+    }
+
+    private void loop(WebClient client, AtomicLong next, long total, long deadline, Promise<Void> promise) {
+        long index = next.getAndIncrement();
+        if (index >= total || System.nanoTime() - deadline >= 0) {
+            promise.complete();
+            return;
+        }
+        send(client, requests.get((int) (index % requests.size())))
+                .onComplete(ar -> {
+                    sent.incrementAndGet();
+                    if (ar.failed()) {
+                        failed.incrementAndGet();
+                        logger.debug("warm-up request failed.", ar.cause());
+                    }
+                    loop(client, next, total, deadline, promise);
+                });
+    }
+
+    private static Future<?> send(WebClient client, JsonObject entry) {
+        HttpRequest<Buffer> request = client.request(io.vertx.core.http.HttpMethod.valueOf(entry.getString("method", "GET")),
+                entry.getString("path"));
+        entry.getJsonObject("params", new JsonObject())
+                .forEach(param -> request.addQueryParam(param.getKey(), String.valueOf(param.getValue())));
+        entry.getJsonObject("headers", new JsonObject())
+                .forEach(header -> request.putHeader(header.getKey(), String.valueOf(header.getValue())));
+        Object body = entry.getValue("body");
+        if (body instanceof JsonObject || body instanceof JsonArray) {
+            return request.sendJson(body);
+        }
+        if (body != null) {
+            return request.sendBuffer(Buffer.buffer(String.valueOf(body)));
+        }
+        return request.send();
+    }
+
+    private JsonObject result(long start) {
+        return new JsonObject()
+                .put("requests", requests.size())
+                .put("sent", sent.get())
+                .put("failed", failed.get())
+                .put("millis", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+}
@@ -17,26 +17,53 @@
 package com.github.lcnap.vertx.webmvc.impl;
 
 
+import ch.qos.logback.classic.LoggerContext;
+import com.codahale.metrics.Slf4jReporter;
 import com.github.lcnap.vertx.webmvc.ClientException;
+import com.github.lcnap.vertx.webmvc.ServerException;
 import com.github.lcnap.vertx.webmvc.WebApplication;
 import com.github.lcnap.vertx.webmvc.annotation.AnnotationScanner;
+import com.github.lcnap.vertx.webmvc.cache.ResponseCaches;
+import com.github.lcnap.vertx.webmvc.handler.LifecycleHandler;
 import com.github.lcnap.vertx.webmvc.handler.RequestIdHandler;
+import com.github.lcnap.vertx.webmvc.handler.SampledLoggerHandler;
+import com.github.lcnap.vertx.webmvc.handler.StaticAssetHandler;
+import com.github.lcnap.vertx.webmvc.metrics.EventLoopMonitor;
+import com.github.lcnap.vertx.webmvc.metrics.RouteCosts;
+import com.github.lcnap.vertx.webmvc.metrics.WebMetrics;
+import com.github.lcnap.vertx.webmvc.push.Broadcaster;
+import com.github.lcnap.vertx.webmvc.template.TemplateRenderer;
+import io.vertx.core.Context;
+import io.vertx.core.DeploymentOptions;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.WorkerExecutor;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpServer;
 import io.vertx.core.http.HttpServerOptions;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.Router;
+import io.vertx.ext.web.client.WebClient;
 import io.vertx.ext.web.common.template.TemplateEngine;
 import io.vertx.ext.web.handler.BodyHandler;
 import io.vertx.ext.web.handler.LoggerFormat;
 import io.vertx.ext.web.handler.LoggerHandler;
-import io.vertx.ext.web.handler.StaticHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 
 public class WebApplicationImpl implements WebApplication {
     private final static Logger logger = LoggerFactory.getLogger(WebApplicationImpl.class);
@@ -45,6 +72,15 @@ public class WebApplicationImpl implements WebApplication {
 
     private final static String DEFAULT_TEMPLATE_ENGINE = "io.vertx.ext.web.templ.freemarker.FreeMarkerTemplateEngine";
 
+    private final static int DEFAULT_TEMPLATE_CACHE_SIZE = 256;
+
+    private final static long DEFAULT_GRACE_PERIOD = 30_000;
+
+    private final static String DEFAULT_READINESS_PATH = "/admin/ready";
+
+    //训练运行：就绪后停机退出，JVM 在退出时写出 AppCDS/AOT 缓存，见 pom 的 aot profile
+    private final static String TRAINING_PROPERTY = "webmvc.training";
+
     public Class<?> appClass() {
         return appClass;
     }
@@ -53,14 +89,41 @@ public class WebApplicationImpl implements WebApplication {
         return vertx;
     }
 
+    //多个 acceptor 时为第一个
     public HttpServer httpServer() {
         return httpServer;
     }
 
+    public List<HttpServer> servers() {
+        return servers;
+    }
+
     public TemplateEngine engine() {
+        templateRenderer();
         return engine;
     }
 
+    /**
+     * 首次调用时加载模板引擎。扫描到 text/html 路由时调用，没有这类路由的应用不加载引擎。
+     */
+    public TemplateRenderer templateRenderer() {
+        TemplateRenderer renderer = templateRenderer;
+        if (renderer == null) {
+            synchronized (this) {
+                if (templateRenderer == null) {
+                    initEngine(templateEngineClass);
+                    templateRenderer = new TemplateRenderer(vertx, engine, templateCacheSize);
+                }
+                renderer = templateRenderer;
+            }
+        }
+        return renderer;
+    }
+
+    public StartupReport startupReport() {
+        return startupReport;
+    }
+
     public Router rootRouter() {
         return rootRouter;
     }
@@ -69,18 +132,108 @@ public class WebApplicationImpl implements WebApplication {
         return serverOptions;
     }
 
+    //http-server.json 叠加系统属性与环境变量后的当前配置，读取失败时为空对象；开启 reload 时随文件更新
+    public JsonObject config() {
+        return runtimeConfig.current();
+    }
+
+    public RuntimeConfig runtimeConfig() {
+        return runtimeConfig;
+    }
+
+    public BodyHandler bodyHandler() {
+        return bodyHandler;
+    }
+
+    public ResponseCaches responseCaches() {
+        return responseCaches;
+    }
+
+    public EventLoopMonitor eventLoopMonitor() {
+        return eventLoopMonitor;
+    }
+
+    //未配置 cost 节点时为 null
+    public RouteCosts routeCosts() {
+        return routeCosts;
+    }
+
+    /**
+     * 按名称取 executors 配置中的 worker 池，首次使用时创建：{"executors": {"db": {"poolSize": 20, "maxExecuteTime": 60000}}}。
+     */
+    public WorkerExecutor executor(String name) {
+        JsonObject executorConfig = config().getJsonObject("executors", new JsonObject()).getJsonObject(name);
+        if (executorConfig == null) {
+            throw new ServerException("executor not configured: " + name);
+        }
+        return executors.computeIfAbsent(name, n -> vertx.createSharedWorkerExecutor(n,
+                executorConfig.getInteger("poolSize", VertxOptions.DEFAULT_WORKER_POOL_SIZE),
+                executorConfig.getLong("maxExecuteTime", 60_000L),
+                TimeUnit.MILLISECONDS));
+    }
+
+    //首次使用时创建，配置 push.heartbeat 为 SSE 保活间隔毫秒数
+    public synchronized Broadcaster broadcaster() {
+        if (broadcaster == null) {
+            broadcaster = new Broadcaster(vertx, config().getJsonObject("push", new JsonObject()).getLong("heartbeat", 15_000L));
+        }
+        return broadcaster;
+    }
+
+    //首次注入时创建
+    public synchronized WebClient webClient() {
+        if (webClient == null) {
+            webClient = WebClient.create(vertx);
+        }
+        return webClient;
+    }
+
     private final Class<?> appClass;
 
     private final Vertx vertx;
 
     private HttpServer httpServer;
 
+    private final List<HttpServer> servers = new CopyOnWriteArrayList<>();
+
+    //监听实例数，0 表示每个 event loop 一个
+    private int acceptors = 1;
+
     private TemplateEngine engine;
 
+    private volatile TemplateRenderer templateRenderer;
+
+    private String templateEngineClass;
+
+    private int templateCacheSize = DEFAULT_TEMPLATE_CACHE_SIZE;
+
+    private boolean templatePrecompile;
+
+    private final StartupReport startupReport = new StartupReport();
+
     private Router rootRouter;
 
     private HttpServerOptions serverOptions;
 
+    private final RuntimeConfig runtimeConfig = new RuntimeConfig();
+
+    //按路由挂载，流式请求体的路由不经过 BodyHandler
+    private final BodyHandler bodyHandler = BodyHandler.create();
+
+    private final ResponseCaches responseCaches = new ResponseCaches();
+
+    private EventLoopMonitor eventLoopMonitor;
+
+    private RouteCosts routeCosts;
+
+    private final LifecycleHandler lifecycle = LifecycleHandler.create();
+
+    private WebClient webClient;
+
+    private Broadcaster broadcaster;
+
+    private final Map<String, WorkerExecutor> executors = new ConcurrentHashMap<>();
+
     private final AnnotationScanner annotationScanner;
 
     public WebApplicationImpl(Vertx vertx, Class<?> appClass) {
@@ -90,18 +243,71 @@ public class WebApplicationImpl implements WebApplication {
         this.annotationScanner = new AnnotationScanner(this);
     }
 
+    /**
+     * 按配置文件的 vertx 节点创建 Vertx，见 Transports。
+     */
+    public static WebApplicationImpl create(Class<?> appClass) {
+        long start = System.nanoTime();
+        Vertx vertx = Transports.createVertx(bootstrapConfig());
+        long elapsed = System.nanoTime() - start;
+        WebApplicationImpl application = new WebApplicationImpl(vertx, appClass);
+        application.startupReport.record("vertx", elapsed);
+        return application;
+    }
+
+    //创建 Vertx 之前读取配置：先找工作目录，再找 classpath，与 vertx 文件系统的查找顺序一致
+    private static JsonObject bootstrapConfig() {
+        try {
+            Path path = Path.of(httpServerConfig);
+            if (Files.exists(path)) {
+                return new JsonObject(Files.readString(path));
+            }
+            try (InputStream in = Thread.currentThread().getContextClassLoader().getResourceAsStream(httpServerConfig)) {
+                if (in != null) {
+                    return new JsonObject(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.error("load config error.use default vertx options.", e);
+        }
+        return new JsonObject();
+    }
+
     public Future<HttpServer> run() throws RuntimeException {
         HttpServerOptions serverOptions = readConfigFile();
-
-        httpServer = vertx.createHttpServer(serverOptions);
+        startupReport.phase("config");
 
         rootRouter = Router.router(vertx);
 
+        //在途请求计数与 readiness，放在最前
+        JsonObject config = config();
+        JsonObject shutdownConfig = config.getJsonObject("shutdown", new JsonObject());
+        rootRouter.route().handler(lifecycle);
+        rootRouter.get(shutdownConfig.getString("readinessPath", DEFAULT_READINESS_PATH)).handler(lifecycle.readiness());
+        //非阻塞路由的 event loop 占用与各 event loop 的延迟
+        JsonObject eventLoopConfig = config.getJsonObject("eventLoop", new JsonObject());
+        eventLoopMonitor = new EventLoopMonitor(eventLoopConfig);
+        rootRouter.get(EventLoopMonitor.adminPath(eventLoopConfig)).handler(eventLoopMonitor.adminHandler());
+        //各路由的 CPU 与分配，按需开启
+        JsonObject costConfig = config.getJsonObject("cost");
+        if (costConfig != null) {
+            routeCosts = new RouteCosts();
+            rootRouter.get(RouteCosts.adminPath(costConfig)).handler(routeCosts.adminHandler());
+        }
+
         rootRouter.route().handler(RequestIdHandler.create());
-        rootRouter.route().handler(LoggerHandler.create(LoggerFormat.SHORT));
+        //访问日志按比例抽样，比例可在运行时修改
+        SampledLoggerHandler accessLog = SampledLoggerHandler.create(LoggerHandler.create(LoggerFormat.SHORT),
+                config.getJsonObject("accessLog", new JsonObject()));
+        runtimeConfig.onChange("accessLog", accessLog::reconfigure);
+        rootRouter.route().handler(accessLog);
 
         rootRouter.route().failureHandler(rc -> {
             logger.error("detect error.", rc.failure());
+            //已超时等情况下响应已经写出
+            if (rc.response().headWritten()) {
+                return;
+            }
             int statusCode = 500;
             Throwable failure = rc.failure();
             if (failure instanceof ClientException || failure.getCause() instanceof ClientException) {
@@ -111,27 +317,88 @@ public class WebApplicationImpl implements WebApplication {
 
         });
 
-        rootRouter.route().handler(BodyHandler.create());
-        rootRouter.route("/static/*").handler(StaticHandler.create("static"));
+        JsonObject staticConfig = config.getJsonObject("static", new JsonObject());
+        rootRouter.route(StaticAssetHandler.mountPath(staticConfig) + "/*")
+                .handler(StaticAssetHandler.create(vertx, staticConfig));
+
+        startupReport.phase("router");
 
         this.annotationScanner.scanHttpHandler();
+        //业务路由各自挂载 BodyHandler（流式请求体的路由除外）；之后通过 rootRouter() 添加的路由经过这里读取请求体。
+        //已经过 BodyHandler 的请求不会重复读取
+        rootRouter.route().handler(bodyHandler);
+        responseCaches.reconfigure(config.getJsonObject("caches", new JsonObject()));
+        runtimeConfig.onChange("caches", responseCaches::reconfigure);
+        startupReport.phase("scan");
+
+        //每个 event loop 上的延迟探测
+        Future<?> prepare = eventLoopMonitor.start(vertx, eventLoops());
+        //预编译模板，避免首个请求编译；没有 text/html 路由时引擎未加载，跳过
+        if (templatePrecompile && templateRenderer != null) {
+            prepare = prepare.compose(v -> vertx.executeBlocking(templateRenderer::precompile));
+        }
+        //预先生成静态资源的压缩文件
+        if (staticConfig.getBoolean("buildCompressed", false)) {
+            prepare = prepare.compose(v -> vertx.executeBlocking(() -> StaticAssetHandler.buildCompressedVariants(staticConfig)));
+        }
 
-        Future<HttpServer> listen = httpServer.requestHandler(rootRouter).listen();
+        //预热完成后才就绪
+        JsonObject warmupConfig = config.getJsonObject("warmup");
+        WarmUp warmUp = warmupConfig != null ? new WarmUp(vertx, warmupConfig, annotationScanner.plans()) : null;
+        Future<HttpServer> listen = prepare.andThen(ar -> startupReport.phase("prepare"))
+                .compose(v -> listen(serverOptions))
+                .andThen(ar -> startupReport.phase("listen"))
+                .compose(server -> warmUp == null ? Future.succeededFuture(server)
+                        : warmUp(warmUp, server, serverOptions).map(server));
+        listen.onSuccess(server -> {
+            JsonObject reload = config.getJsonObject("reload");
+            if (reload != null) {
+                runtimeConfig.watch(vertx, httpServerConfig, reload);
+            }
+            lifecycle.state(State.READY);
+            startupReport.ready();
+            startupReport.log(logger);
+            if (Boolean.getBoolean(TRAINING_PROPERTY)) {
+                training();
+            }
+        });
         listen.onFailure(f -> {
             logger.error("server listen failed.", f);
         });
 
-        Runtime.getRuntime().addShutdownHook(new Thread(WebApplicationImpl.this::stop));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            stop();
+            //最后停止日志，保证访问日志与指标输出完整
+            if (LoggerFactory.getILoggerFactory() instanceof LoggerContext loggerContext) {
+                loggerContext.stop();
+            }
+        }));
 
         return listen;
     }
 
+    private Future<HttpServer> listen(HttpServerOptions serverOptions) {
+        if (acceptors == 1) {
+            httpServer = vertx.createHttpServer(serverOptions);
+            servers.add(httpServer);
+            return httpServer.requestHandler(rootRouter).listen();
+        }
+        int instances = acceptors > 0 ? acceptors : eventLoops();
+        return vertx.deployVerticle(() -> new AcceptorVerticle(serverOptions, rootRouter, servers),
+                        new DeploymentOptions().setInstances(instances))
+                .map(id -> {
+                    httpServer = servers.get(0);
+                    logger.info("{} acceptors listening on port {}.", instances, httpServer.actualPort());
+                    return httpServer;
+                });
+    }
+
     private HttpServerOptions readConfigFile() {
         JsonObject config = null;
         Buffer buffer;
         try {
             buffer = vertx.fileSystem().readFileBlocking(httpServerConfig);
-            config = new JsonObject(buffer);
+            config = RuntimeConfig.overlay(new JsonObject(buffer));
             logger.info(config.toString());
         } catch (Exception e) {
             logger.error("load config error.use default config.", e);
@@ -141,17 +408,31 @@ public class WebApplicationImpl implements WebApplication {
         if (config == null) {
             serverOptions = new HttpServerOptions();
         } else {
-            serverOptions = new HttpServerOptions(config);
+            //调优模板作为默认值
+            JsonObject effective = ServerProfiles.resolve(config);
+            serverOptions = new HttpServerOptions(effective);
+            acceptors = effective.getInteger("acceptors", 1);
+            runtimeConfig.init(config);
         }
 
-        String templateEngineClass = null;
+        //模板引擎在扫描到 text/html 路由时加载
         if (config != null) {
             templateEngineClass = config.getString("templateEngine");
+            templateCacheSize = config.getInteger("templateCacheSize", DEFAULT_TEMPLATE_CACHE_SIZE);
+            templatePrecompile = config.getBoolean("templatePrecompile", false);
         }
-        initEngine(templateEngineClass);
         return serverOptions;
     }
 
+    //训练运行在就绪后停机，退出时 JVM 按 -XX:AOTCacheOutput 或 -XX:ArchiveClassesAtExit 写出缓存
+    private void training() {
+        logger.info("training run finished, exiting.");
+        new Thread(() -> {
+            stop();
+            System.exit(0);
+        }, "webmvc-training").start();
+    }
+
     private void initEngine(String className) {
         if (className == null) {
             className = DEFAULT_TEMPLATE_ENGINE;
@@ -171,17 +452,106 @@ public class WebApplicationImpl implements WebApplication {
     }
 
     public TemplateEngine getTemplateEngine() {
-        return engine;
+        return engine();
     }
 
 
+    @Override
+    public State state() {
+        return lifecycle.state();
+    }
+
+    //通过本机连接重放请求，失败不影响启动
+    private Future<JsonObject> warmUp(WarmUp warmUp, HttpServer server, HttpServerOptions serverOptions) {
+        String host = serverOptions.getHost();
+        if (host == null || host.equals("0.0.0.0") || host.equals("::")) {
+            host = "localhost";
+        }
+        return warmUp.run(host, server.actualPort(), serverOptions.isSsl())
+                .andThen(ar -> startupReport.phase("warmup"))
+                .otherwise(e -> {
+                    logger.warn("warm-up failed.", e);
+                    return new JsonObject();
+                });
+    }
+
+    private int eventLoops() {
+        return config().getJsonObject("vertx", new JsonObject())
+                .getInteger("eventLoopPoolSize", VertxOptions.DEFAULT_EVENT_LOOP_POOL_SIZE);
+    }
+
+    /**
+     * 配置（shutdown 节点）：gracePeriod 等待在途请求的最长毫秒数，drainDelay 停止监听前等待负载均衡摘除的毫秒数，readinessPath。
+     */
     @Override
     public void stop() {
-        Future<Void> f = this.vertx.close();
-        f.onFailure(e -> {
-            logger.error("server stop failed.", e);
-            System.exit(-1);
-        }).await();
+        synchronized (lifecycle) {
+            if (lifecycle.state() == State.DRAINING || lifecycle.state() == State.STOPPED) {
+                return;
+            }
+            lifecycle.state(State.DRAINING);
+        }
+        JsonObject shutdownConfig = config().getJsonObject("shutdown", new JsonObject());
+        long gracePeriod = shutdownConfig.getLong("gracePeriod", DEFAULT_GRACE_PERIOD);
+        long drainDelay = shutdownConfig.getLong("drainDelay", 0L);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(drainDelay + gracePeriod);
+        logger.info("draining. in-flight requests: {}", lifecycle.inFlight());
+
+        //推送连接不会自己结束，先关闭；再停止接受新连接，HTTP/2 发送 GOAWAY，HTTP/1.x 在当前请求完成后关闭连接
+        Future<Void> f = delay(drainDelay)
+                .compose(v -> closeSubscribers())
+                .compose(v -> Future.all(servers.stream()
+                        .map(server -> server.shutdown(gracePeriod, TimeUnit.MILLISECONDS))
+                        .toList()))
+                .compose(v -> awaitInFlight(deadline))
+                .andThen(ar -> reportMetrics())
+                .andThen(ar -> runtimeConfig.close())
+                .eventually(() -> this.vertx.close())
+                .andThen(ar -> lifecycle.state(State.STOPPED));
+        f.onFailure(e -> logger.error("server stop failed.", e));
+        if (!Context.isOnVertxThread()) {
+            try {
+                f.await();
+            } catch (Exception e) {
+                //已记录
+            }
+        }
+    }
+
+    private synchronized Future<Void> closeSubscribers() {
+        return broadcaster != null ? broadcaster.close() : Future.succeededFuture();
+    }
+
+    private Future<Void> delay(long millis) {
+        if (millis <= 0) {
+            return Future.succeededFuture();
+        }
+        Promise<Void> promise = Promise.promise();
+        vertx.setTimer(millis, id -> promise.complete());
+        return promise.future();
+    }
+
+    //阻塞方法可能在连接关闭后仍在执行，等待计数归零或超时
+    private Future<Void> awaitInFlight(long deadline) {
+        Promise<Void> promise = Promise.promise();
+        if (lifecycle.inFlight() == 0) {
+            promise.complete();
+            return promise.future();
+        }
+        vertx.setPeriodic(50, id -> {
+            if (lifecycle.inFlight() == 0 || System.nanoTime() - deadline >= 0) {
+                vertx.cancelTimer(id);
+                if (lifecycle.inFlight() > 0) {
+                    logger.warn("grace period expired with {} requests in flight.", lifecycle.inFlight());
+                }
+                promise.tryComplete();
+            }
+        });
+        return promise.future();
+    }
 
+    private void reportMetrics() {
+        Slf4jReporter.forRegistry(WebMetrics.registry()).outputTo(logger).build().report();
+        logger.info("response caches: {}", responseCaches.stats());
     }
 }
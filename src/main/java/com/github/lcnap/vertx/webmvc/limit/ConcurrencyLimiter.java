@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 自适应并发限制（AIMD）。
+ * 以窗口内最小耗时为基线：耗时超过基线的 tolerance 倍时按 backoff 乘性减小限制；
+ * 否则在并发接近限制时加 1。基线每 1000 个样本重新探测一次，以适应负载变化。
+ */
+public class ConcurrencyLimiter {
+
+    private final static int PROBE_SAMPLES = 1000;
+
+    private int minLimit;
+
+    private int maxLimit;
+
+    private double tolerance;
+
+    private double backoff;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private volatile int limit;
+
+    private long minRtt = Long.MAX_VALUE;
+
+    private int samples;
+
+    public ConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance, double backoff) {
+        check(minLimit, maxLimit, tolerance, backoff);
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.backoff = backoff;
+    }
+
+    /**
+     * 运行时修改参数，当前限制按新的上下限截断，基线与在途计数保留。
+     */
+    public synchronized void reconfigure(int minLimit, int maxLimit, double tolerance, double backoff) {
+        check(minLimit, maxLimit, tolerance, backoff);
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.backoff = backoff;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, limit));
+    }
+
+    private static void check(int minLimit, int maxLimit, double tolerance, double backoff) {
+        if (minLimit < 1 || maxLimit < minLimit || backoff <= 0 || backoff >= 1 || tolerance < 1) {
+            throw new IllegalArgumentException("bad concurrency limit config.");
+        }
+    }
+
+    /**
+     * 并发数未达到限制时占用一个名额，否则返回 false。
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    //请求完成，按耗时调整限制
+    public void release(long rttNanos) {
+        int current = inFlight.getAndDecrement();
+        onSample(rttNanos, current);
+    }
+
+    //请求异常结束（如连接断开），不作为样本
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    synchronized void onSample(long rttNanos, int inFlight) {
+        if (++samples >= PROBE_SAMPLES) {
+            samples = 0;
+            minRtt = rttNanos;
+        } else {
+            minRtt = Math.min(minRtt, rttNanos);
+        }
+
+        if (rttNanos > minRtt * tolerance) {
+            limit = Math.max(minLimit, (int) (limit * backoff));
+        } else if (inFlight * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+}
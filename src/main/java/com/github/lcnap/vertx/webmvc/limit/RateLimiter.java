@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.limit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 无锁令牌桶（GCRA 实现）。每个键只保存一个“理论到达时间”，用 CAS 更新。
+ * 键数有上限，满了以后新键挤掉一个已回满的桶，没有时挤掉抽样中最久没有请求的桶；
+ * 被挤掉的键下次按新桶计数，大量伪造的键只会让限流变宽松，不会让其他客户端被拒绝。
+ * 桶回满的键可以随时清除，等价于新桶。
+ */
+public class RateLimiter {
+
+    //新桶的理论到达时间，任何 now 都比它大
+    private final static long EMPTY = Long.MIN_VALUE;
+
+    //两次请求的间隔
+    private final long interval;
+
+    //允许提前的时间，即突发容量
+    private final long tolerance;
+
+    private final int maxKeys;
+
+    //键数已满时抽样的桶数
+    private final static int EVICTION_SAMPLES = 8;
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    public RateLimiter(long permits, long periodNanos, long burst, int maxKeys) {
+        if (permits <= 0 || periodNanos <= 0) {
+            throw new IllegalArgumentException("permits and period must be positive.");
+        }
+        this.interval = Math.max(1, periodNanos / permits);
+        this.tolerance = interval * (burst > 0 ? burst : permits);
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * 获取一个许可，成功返回 0，否则返回需要等待的纳秒数。
+     */
+    public long acquire(String key) {
+        return acquire(key, System.nanoTime());
+    }
+
+    long acquire(String key, long now) {
+        AtomicLong tat = bucket(key, now);
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, now) + interval;
+            long wait = next - now - tolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    private AtomicLong bucket(String key, long now) {
+        AtomicLong tat = buckets.get(key);
+        if (tat != null) {
+            return tat;
+        }
+        if (buckets.size() >= maxKeys) {
+            evict(now);
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(EMPTY));
+    }
+
+    //清除一个已回满的桶，抽样中没有时清除理论到达时间最早的桶
+    private void evict(long now) {
+        String oldest = null;
+        long oldestTat = 0;
+        int sampled = 0;
+        for (Map.Entry<String, AtomicLong> entry : buckets.entrySet()) {
+            long value = entry.getValue().get();
+            if (value == EMPTY || value - now <= 0) {
+                buckets.remove(entry.getKey());
+                return;
+            }
+            if (oldest == null || value - oldestTat < 0) {
+                oldest = entry.getKey();
+                oldestTat = value;
+            }
+            if (++sampled >= EVICTION_SAMPLES) {
+                break;
+            }
+        }
+        if (oldest != null) {
+            buckets.remove(oldest);
+        }
+    }
+
+    /**
+     * 清除已回满的桶，返回清除数。与 acquire 并发时最多少记一次请求。
+     */
+    public int sweep() {
+        return sweep(System.nanoTime());
+    }
+
+    int sweep(long now) {
+        int before = buckets.size();
+        buckets.values().removeIf(tat -> {
+            long value = tat.get();
+            return value == EMPTY || value - now <= 0;
+        });
+        return before - buckets.size();
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.metrics;
+
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.VerticleBase;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * event loop 监控：各非阻塞路由的占用时间（见 RouteStats），以及每个 event loop 的延迟。
+ * 延迟由每个 event loop 上的定时器测量：实际触发时间与预期时间之差，反映该线程上任务排队的时间。
+ * <p>
+ * 配置（http-server.json 的 eventLoop 节点）：threshold（毫秒，默认 10，单次占用超过时告警）、
+ * lagInterval（毫秒，默认 100，0 表示不测延迟）、adminPath（默认 /admin/event-loop）、
+ * autoOffload（可选，见 OffloadPolicy）。
+ */
+public class EventLoopMonitor {
+
+    private final long thresholdNanos;
+
+    private final long lagInterval;
+
+    //未开启自动卸载时为 null
+    private final OffloadPolicy offloadPolicy;
+
+    private final Map<String, RouteStats> routes = new ConcurrentHashMap<>();
+
+    //event loop 线程名 -> 延迟
+    private final Map<String, Lag> loops = new ConcurrentHashMap<>();
+
+    public EventLoopMonitor(JsonObject config) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(config.getLong("threshold", 10L));
+        this.lagInterval = config.getLong("lagInterval", 100L);
+        this.offloadPolicy = OffloadPolicy.from(config.getJsonObject("autoOffload"), config.getLong("threshold", 10L));
+    }
+
+    public OffloadPolicy offloadPolicy() {
+        return offloadPolicy;
+    }
+
+    public static String adminPath(JsonObject config) {
+        return config.getString("adminPath", "/admin/event-loop");
+    }
+
+    public RouteStats register(String path) {
+        return register(path, false);
+    }
+
+    /**
+     * adaptive 为 true 且开启了自动卸载时，路由按耗时在 event loop 与 worker 之间切换。
+     */
+    public RouteStats register(String path, boolean adaptive) {
+        OffloadPolicy policy = adaptive ? offloadPolicy : null;
+        RouteStats stats = routes.computeIfAbsent(path, p -> new RouteStats(p, thresholdNanos, policy));
+        WebMetrics.gauge("webmvc.route." + path + ".eventLoop.count", stats::count);
+        WebMetrics.gauge("webmvc.route." + path + ".eventLoop.maxMicros", () -> TimeUnit.NANOSECONDS.toMicros(stats.maxNanos()));
+        WebMetrics.gauge("webmvc.route." + path + ".eventLoop.slow", stats::slow);
+        if (stats.policy() != null) {
+            WebMetrics.gauge("webmvc.route." + path + ".eventLoop.offloaded", () -> stats.offloaded() ? 1 : 0);
+            WebMetrics.gauge("webmvc.route." + path + ".eventLoop.transitions", stats::transitions);
+        }
+        return stats;
+    }
+
+    /**
+     * 在每个 event loop 上部署一个探测实例，随 Vertx 关闭一起卸载。
+     */
+    public Future<?> start(Vertx vertx, int eventLoops) {
+        if (lagInterval <= 0) {
+            return Future.succeededFuture();
+        }
+        return vertx.deployVerticle(Probe::new, new DeploymentOptions().setInstances(eventLoops));
+    }
+
+    public JsonObject toJson() {
+        JsonObject lag = new JsonObject();
+        loops.forEach((thread, value) -> lag.put(thread, value.toJson()));
+        JsonArray slowest = new JsonArray();
+        routes.values().stream()
+                .sorted(Comparator.comparingLong(RouteStats::totalNanos).reversed())
+                .forEach(stats -> slowest.add(stats.toJson()));
+        return new JsonObject()
+                .put("thresholdMillis", TimeUnit.NANOSECONDS.toMillis(thresholdNanos))
+                .put("lag", lag)
+                .put("routes", slowest);
+    }
+
+    public Handler<RoutingContext> adminHandler() {
+        return rc -> rc.response().putHeader("content-type", "application/json; charset=utf-8").end(toJson().toBuffer());
+    }
+
+    private final class Probe extends VerticleBase {
+
+        @Override
+        public Future<?> start() {
+            schedule();
+            return Future.succeededFuture();
+        }
+
+        private void schedule() {
+            long expected = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lagInterval);
+            vertx.setTimer(lagInterval, id -> {
+                String thread = Thread.currentThread().getName();
+                Lag lag = loops.computeIfAbsent(thread, t -> {
+                    Lag created = new Lag();
+                    WebMetrics.gauge("webmvc.eventLoop." + t + ".lagMillis", created::lastMillis);
+                    return created;
+                });
+                lag.record(Math.max(0, System.nanoTime() - expected));
+                schedule();
+            });
+        }
+    }
+
+    private static final class Lag {
+
+        private volatile long last;
+
+        private final AtomicLong max = new AtomicLong();
+
+        void record(long nanos) {
+            last = nanos;
+            max.accumulateAndGet(nanos, Math::max);
+        }
+
+        long lastMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(last);
+        }
+
+        JsonObject toJson() {
+            return new JsonObject()
+                    .put("lastMillis", lastMillis())
+                    .put("maxMillis", TimeUnit.NANOSECONDS.toMillis(max.get()));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.metrics;
+
+import io.vertx.core.json.JsonObject;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 自动卸载的策略，配置来自 eventLoop.autoOffload。
+ * 路由耗时的指数移动平均超过 budget 时改到 worker（或虚拟线程）执行，降到 resume 以下时回到 event loop。
+ *
+ * @param budgetNanos 超过时卸载
+ * @param resumeNanos 低于时回到 event loop，小于 budgetNanos 以免来回切换
+ * @param alpha       移动平均中最新一次耗时的权重
+ * @param minSamples  样本数不足时不切换
+ * @param virtual     使用虚拟线程而不是 worker 池
+ */
+public record OffloadPolicy(long budgetNanos, long resumeNanos, double alpha, long minSamples, boolean virtual) {
+
+    /**
+     * 没有配置或 enabled 为 false 时返回 null；budget 默认取 threshold 的毫秒数。
+     */
+    public static OffloadPolicy from(JsonObject config, long thresholdMillis) {
+        if (config == null || !config.getBoolean("enabled", true)) {
+            return null;
+        }
+        long budget = config.getLong("budget", thresholdMillis);
+        long resume = config.getLong("resume", budget / 2);
+        double alpha = config.getDouble("alpha", 0.2);
+        if (budget <= 0 || resume < 0 || resume >= budget) {
+            throw new IllegalArgumentException("eventLoop.autoOffload requires 0 <= resume < budget.");
+        }
+        if (alpha <= 0 || alpha > 1) {
+            throw new IllegalArgumentException("eventLoop.autoOffload.alpha must be in (0, 1].");
+        }
+        String executor = config.getString("executor", "worker");
+        if (!executor.equals("worker") && !executor.equals("virtual")) {
+            throw new IllegalArgumentException("eventLoop.autoOffload.executor must be worker or virtual.");
+        }
+        return new OffloadPolicy(TimeUnit.MILLISECONDS.toNanos(budget), TimeUnit.MILLISECONDS.toNanos(resume), alpha,
+                config.getLong("minSamples", 20L), executor.equals("virtual"));
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.metrics;
+
+import io.vertx.core.json.JsonObject;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 单个路由的线程 CPU 时间与分配字节数，按参数绑定、方法调用、返回值处理三个阶段记录。
+ * 每个平台线程一个累加单元，只由所属线程写入，读取时汇总；虚拟线程共用一个原子累加的单元。
+ * 调用顺序：begin()、phase(BINDING)、phase(INVOCATION)、phase(SERIALIZATION)，都在同一线程上。
+ * 各阶段的消耗先暂存，返回值处理完成（phase(SERIALIZATION)）时才与次数一起计入；中途抛出异常的请求不计，
+ * 避免只有部分阶段数据的请求拉低每请求的平均值。
+ */
+public class RouteCost {
+
+    public enum Phase {
+        BINDING, INVOCATION, SERIALIZATION
+    }
+
+    private final static com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final static Phase[] PHASES = Phase.values();
+
+    //count、各阶段 CPU 纳秒、各阶段分配字节
+    private final static int SLOTS = 1 + 2 * PHASES.length;
+
+    private final String path;
+
+    private final Queue<Cell> cells = new ConcurrentLinkedQueue<>();
+
+    private final ThreadLocal<Cell> local = ThreadLocal.withInitial(this::newCell);
+
+    private final Cell shared = new Cell(true);
+
+    public RouteCost(String path) {
+        this.path = path;
+    }
+
+    private Cell newCell() {
+        Cell cell = new Cell(false);
+        cells.add(cell);
+        return cell;
+    }
+
+    private Cell cell() {
+        return Thread.currentThread().isVirtual() ? shared : local.get();
+    }
+
+    public void begin() {
+        Cell cell = cell();
+        //虚拟线程可能在阶段之间换到其他载体线程，只计次数
+        if (!cell.shared) {
+            Arrays.fill(cell.pending, 0);
+            cell.cpu = THREADS.getCurrentThreadCpuTime();
+            cell.allocated = THREADS.getCurrentThreadAllocatedBytes();
+        }
+    }
+
+    //暂存从上一个阶段结束到现在的消耗，最后一个阶段时连同次数一起计入
+    public void phase(Phase phase) {
+        Cell cell = cell();
+        boolean last = phase.ordinal() == PHASES.length - 1;
+        if (cell.shared) {
+            if (last) {
+                cell.add(0, 1);
+            }
+            return;
+        }
+        long cpu = THREADS.getCurrentThreadCpuTime();
+        long allocated = THREADS.getCurrentThreadAllocatedBytes();
+        if (cell.cpu >= 0 && cpu >= 0) {
+            cell.pending[1 + phase.ordinal()] += cpu - cell.cpu;
+        }
+        if (cell.allocated >= 0 && allocated >= 0) {
+            cell.pending[1 + PHASES.length + phase.ordinal()] += allocated - cell.allocated;
+        }
+        cell.cpu = cpu;
+        cell.allocated = allocated;
+        if (last) {
+            cell.add(0, 1);
+            for (int slot = 1; slot < SLOTS; slot++) {
+                cell.add(slot, cell.pending[slot]);
+            }
+        }
+    }
+
+    public String path() {
+        return path;
+    }
+
+    private long sum(int slot) {
+        long sum = shared.values.get(slot);
+        for (Cell cell : cells) {
+            sum += cell.values.get(slot);
+        }
+        return sum;
+    }
+
+    public long count() {
+        return sum(0);
+    }
+
+    public long cpuNanos(Phase phase) {
+        return sum(1 + phase.ordinal());
+    }
+
+    public long allocatedBytes(Phase phase) {
+        return sum(1 + PHASES.length + phase.ordinal());
+    }
+
+    public long cpuNanos() {
+        long sum = 0;
+        for (Phase phase : PHASES) {
+            sum += cpuNanos(phase);
+        }
+        return sum;
+    }
+
+    public long allocatedBytes() {
+        long sum = 0;
+        for (Phase phase : PHASES) {
+            sum += allocatedBytes(phase);
+        }
+        return sum;
+    }
+
+    public JsonObject toJson() {
+        long count = count();
+        JsonObject cpu = new JsonObject();
+        JsonObject allocated = new JsonObject();
+        for (Phase phase : PHASES) {
+            String name = phase.name().toLowerCase();
+            cpu.put(name, TimeUnit.NANOSECONDS.toMicros(cpuNanos(phase)));
+            allocated.put(name, allocatedBytes(phase));
+        }
+        long cpuNanos = cpuNanos();
+        long allocatedBytes = allocatedBytes();
+        return new JsonObject()
+                .put("path", path)
+                .put("count", count)
+                .put("cpuMicros", cpu.put("total", TimeUnit.NANOSECONDS.toMicros(cpuNanos)))
+                .put("allocatedBytes", allocated.put("total", allocatedBytes))
+                .put("cpuMicrosPerRequest", count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(cpuNanos / count))
+                .put("allocatedBytesPerRequest", count == 0 ? 0 : allocatedBytes / count);
+    }
+
+    private static final class Cell {
+
+        private final boolean shared;
+
+        //所属线程写入，lazySet 发布给汇总的线程；共用单元用原子加
+        private final AtomicLongArray values = new AtomicLongArray(SLOTS);
+
+        //上一个阶段结束时的计数与本次请求暂存的消耗，只由所属线程访问
+        private long cpu = -1;
+
+        private final long[] pending = new long[SLOTS];
+
+        private long allocated = -1;
+
+        Cell(boolean shared) {
+            this.shared = shared;
+        }
+
+        void add(int slot, long delta) {
+            if (shared) {
+                values.getAndAdd(slot, delta);
+            } else {
+                values.lazySet(slot, values.get(slot) + delta);
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.metrics;
+
+import com.github.lcnap.vertx.webmvc.ClientException;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 各路由的 CPU 与分配统计，见 RouteCost。配置 cost 节点时开启，adminPath 默认 /admin/top-routes：
+ * GET /admin/top-routes?by=cpu|alloc&amp;limit=10 返回消耗最多的路由。
+ */
+public class RouteCosts {
+
+    private final Map<String, RouteCost> routes = new ConcurrentHashMap<>();
+
+    public RouteCosts() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (threads.isThreadCpuTimeSupported() && !threads.isThreadCpuTimeEnabled()) {
+            threads.setThreadCpuTimeEnabled(true);
+        }
+        if (threads.isThreadAllocatedMemorySupported() && !threads.isThreadAllocatedMemoryEnabled()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+        }
+    }
+
+    public static String adminPath(JsonObject config) {
+        return config.getString("adminPath", "/admin/top-routes");
+    }
+
+    public RouteCost register(String path) {
+        RouteCost cost = routes.computeIfAbsent(path, RouteCost::new);
+        WebMetrics.gauge("webmvc.route." + path + ".cpuMicros", () -> TimeUnit.NANOSECONDS.toMicros(cost.cpuNanos()));
+        WebMetrics.gauge("webmvc.route." + path + ".allocatedBytes", cost::allocatedBytes);
+        return cost;
+    }
+
+    public RouteCost get(String path) {
+        return routes.get(path);
+    }
+
+    public JsonArray top(boolean byAllocation, int limit) {
+        Comparator<RouteCost> order = byAllocation
+                ? Comparator.comparingLong(RouteCost::allocatedBytes)
+                : Comparator.comparingLong(RouteCost::cpuNanos);
+        JsonArray top = new JsonArray();
+        routes.values().stream()
+                .sorted(order.reversed())
+                .limit(limit)
+                .forEach(cost -> top.add(cost.toJson()));
+        return top;
+    }
+
+    public Handler<RoutingContext> adminHandler() {
+        return rc -> {
+            boolean byAllocation = "alloc".equals(rc.request().getParam("by"));
+            int limit;
+            try {
+                limit = Integer.parseInt(rc.request().getParam("limit", "10"));
+            } catch (NumberFormatException e) {
+                throw new ClientException("bad parameter limit.", e);
+            }
+            if (limit < 0) {
+                throw new ClientException("bad parameter limit.");
+            }
+            rc.response().putHeader("content-type", "application/json; charset=utf-8")
+                    .end(top(byAllocation, limit).toBuffer());
+        };
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.metrics;
+
+import io.vertx.core.json.JsonObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单个非阻塞路由在 event loop 上的占用时间：参数绑定、方法调用与同步的返回值处理。
+ * 超过阈值的调用计为 slow，并按路由每分钟最多告警一次。
+ * 配置了 OffloadPolicy 时按耗时的移动平均在 event loop 与 worker 之间切换，见 offloaded()。
+ */
+public class RouteStats {
+    private final static Logger logger = LoggerFactory.getLogger(RouteStats.class);
+
+    private final static long WARN_INTERVAL = TimeUnit.MINUTES.toNanos(1);
+
+    private final String path;
+
+    private final long thresholdNanos;
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder totalNanos = new LongAdder();
+
+    private final LongAdder slow = new LongAdder();
+
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    private final AtomicLong lastWarn = new AtomicLong(System.nanoTime() - WARN_INTERVAL);
+
+    //不自动卸载时为 null
+    private final OffloadPolicy policy;
+
+    //耗时的指数移动平均，double 的位表示
+    private final AtomicLong ewma = new AtomicLong(Double.doubleToRawLongBits(0));
+
+    private final AtomicLong samples = new AtomicLong();
+
+    private volatile boolean offloaded;
+
+    private final LongAdder transitions = new LongAdder();
+
+    public RouteStats(String path, long thresholdNanos) {
+        this(path, thresholdNanos, null);
+    }
+
+    public RouteStats(String path, long thresholdNanos, OffloadPolicy policy) {
+        this.path = path;
+        this.thresholdNanos = thresholdNanos;
+        this.policy = policy;
+    }
+
+    /**
+     * 记录一次调用，超过阈值时返回 true。
+     */
+    public boolean record(long nanos) {
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+        observe(nanos);
+        if (nanos <= thresholdNanos) {
+            return false;
+        }
+        slow.increment();
+        long now = System.nanoTime();
+        long last = lastWarn.get();
+        if (now - last >= WARN_INTERVAL && lastWarn.compareAndSet(last, now)) {
+            logger.warn("route {} blocked the event loop for {} ms (threshold {} ms), consider isBlocking = true.",
+                    path, TimeUnit.NANOSECONDS.toMillis(nanos), TimeUnit.NANOSECONDS.toMillis(thresholdNanos));
+        }
+        return true;
+    }
+
+    /**
+     * 记录一次卸载到 worker 上的调用，只用于判断是否回到 event loop。
+     */
+    public void recordOffloaded(long nanos) {
+        observe(nanos);
+    }
+
+    //更新移动平均，越过 budget/resume 时切换
+    private void observe(long nanos) {
+        if (policy == null) {
+            return;
+        }
+        double alpha = policy.alpha();
+        double average = Double.longBitsToDouble(ewma.updateAndGet(bits ->
+                Double.doubleToRawLongBits(alpha * nanos + (1 - alpha) * Double.longBitsToDouble(bits))));
+        if (samples.incrementAndGet() < policy.minSamples()) {
+            return;
+        }
+        if (!offloaded && average > policy.budgetNanos()) {
+            transition(true, average);
+        } else if (offloaded && average < policy.resumeNanos()) {
+            transition(false, average);
+        }
+    }
+
+    private void transition(boolean offload, double average) {
+        synchronized (this) {
+            if (offloaded == offload) {
+                return;
+            }
+            offloaded = offload;
+        }
+        transitions.increment();
+        long micros = TimeUnit.NANOSECONDS.toMicros((long) average);
+        if (offload) {
+            logger.warn("route {} moved off the event loop, average {} us exceeds budget {} us.",
+                    path, micros, TimeUnit.NANOSECONDS.toMicros(policy.budgetNanos()));
+        } else {
+            logger.info("route {} moved back to the event loop, average {} us below {} us.",
+                    path, micros, TimeUnit.NANOSECONDS.toMicros(policy.resumeNanos()));
+        }
+    }
+
+    /**
+     * 当前是否应在 worker 上执行。
+     */
+    public boolean offloaded() {
+        return offloaded;
+    }
+
+    public long transitions() {
+        return transitions.sum();
+    }
+
+    public OffloadPolicy policy() {
+        return policy;
+    }
+
+    public String path() {
+        return path;
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public long totalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long slow() {
+        return slow.sum();
+    }
+
+    public long maxNanos() {
+        return maxNanos.get();
+    }
+
+    public JsonObject toJson() {
+        long n = count();
+        JsonObject json = new JsonObject()
+                .put("path", path)
+                .put("count", n)
+                .put("meanMicros", n == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalNanos() / n))
+                .put("maxMicros", TimeUnit.NANOSECONDS.toMicros(maxNanos()))
+                .put("totalMillis", TimeUnit.NANOSECONDS.toMillis(totalNanos()))
+                .put("slow", slow());
+        if (policy != null) {
+            json.put("offloaded", offloaded)
+                    .put("transitions", transitions())
+                    .put("averageMicros", TimeUnit.NANOSECONDS.toMicros((long) Double.longBitsToDouble(ewma.get())));
+        }
+        return json;
+    }
+}
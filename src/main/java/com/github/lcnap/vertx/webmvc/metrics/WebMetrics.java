@@ -0,0 +1,41 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.metrics;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SharedMetricRegistries;
+
+import java.util.function.Supplier;
+
+/**
+ * 框架自身的指标，注册在名为 vertx-webmvc 的共享 MetricRegistry 中。
+ */
+public class WebMetrics {
+
+    public final static String REGISTRY = "vertx-webmvc";
+
+    public static MetricRegistry registry() {
+        return SharedMetricRegistries.getOrCreate(REGISTRY);
+    }
+
+    //同名指标重复注册时（如应用重启）以新的为准
+    public static <T> void gauge(String name, Supplier<T> supplier) {
+        MetricRegistry registry = registry();
+        registry.remove(name);
+        registry.register(name, (Gauge<T>) supplier::get);
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.offload;
+
+import com.github.lcnap.vertx.webmvc.ClientException;
+import com.github.lcnap.vertx.webmvc.Deadline;
+import com.github.lcnap.vertx.webmvc.ServerException;
+import com.github.lcnap.vertx.webmvc.annotation.RoutePlan;
+import com.github.lcnap.vertx.webmvc.cache.ResponseCaches;
+import com.github.lcnap.vertx.webmvc.impl.WebApplicationImpl;
+import com.github.lcnap.vertx.webmvc.push.Broadcaster;
+import com.github.lcnap.vertx.webmvc.stream.RequestBodyStreams;
+import com.github.lcnap.vertx.webmvc.stream.StreamingResponse;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.client.WebClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+/**
+ * 通过 event bus 执行业务方法：HTTP 节点绑定参数后发送到 @HttpHandler 的 address，
+ * 消费者（可以在其他 JVM）调用方法并回复返回值，编码见 InvocationCodec。
+ * Vertx、WebClient、ResponseCaches、Broadcaster、Deadline 参数在消费者本地注入；RoutingContext 与流式参数、流式返回值不支持。
+ * <p>
+ * 配置（http-server.json 的 offload 节点）：consumer（默认 true，false 时只转发）、timeout（毫秒，默认 30000）。
+ */
+public class EventBusOffload {
+    private final static Logger logger = LoggerFactory.getLogger(EventBusOffload.class);
+
+    //截止时间的剩余毫秒数
+    private final static String DEADLINE_HEADER = "x-deadline";
+
+    private final static long DEFAULT_TIMEOUT = 30_000;
+
+    //在消费者本地注入，不经过 event bus
+    private final static Set<Class<?>> LOCAL_TYPES = Set.of(Vertx.class, WebClient.class, ResponseCaches.class, Deadline.class,
+            Broadcaster.class);
+
+    private final WebApplicationImpl application;
+
+    private final long timeout;
+
+    private final boolean consumer;
+
+    public EventBusOffload(WebApplicationImpl application) {
+        this.application = application;
+        JsonObject config = application.config().getJsonObject("offload", new JsonObject());
+        this.timeout = config.getLong("timeout", DEFAULT_TIMEOUT);
+        this.consumer = config.getBoolean("consumer", true);
+        try {
+            application.vertx().eventBus().registerDefaultCodec(Invocation.class, new InvocationCodec());
+        } catch (IllegalStateException e) {
+            //同一 Vertx 上已注册
+            logger.debug("invocation codec already registered.");
+        }
+    }
+
+    /**
+     * 扫描时检查方法能否通过 event bus 执行。
+     */
+    public static void check(Method method) {
+        for (Parameter parameter : method.getParameters()) {
+            if (parameter.getType().equals(RoutingContext.class) || RequestBodyStreams.isStreamingParameter(parameter.getType())) {
+                throw new ServerException("parameter " + parameter.getName() + " can not be sent over event bus: " + method);
+            }
+        }
+        if (StreamingResponse.isStreamingType(method.getReturnType())) {
+            throw new ServerException("streaming return type can not be sent over event bus: " + method);
+        }
+    }
+
+    public static boolean isLocal(Class<?> type) {
+        return LOCAL_TYPES.contains(type);
+    }
+
+    /**
+     * 发送已绑定的参数，本地注入的参数置空；deadline 可为 null。
+     */
+    public Future<Object> forward(Deadline deadline, RoutePlan plan, Object[] args) {
+        Parameter[] parameters = plan.parameters();
+        Object[] values = new Object[args.length];
+        for (int i = 0; i < args.length; i++) {
+            values[i] = isLocal(parameters[i].getType()) ? null : args[i];
+        }
+
+        DeliveryOptions options = new DeliveryOptions().setSendTimeout(timeout);
+        if (deadline != null) {
+            long remaining = Math.max(1, deadline.remaining());
+            options.setSendTimeout(Math.min(timeout, remaining)).addHeader(DEADLINE_HEADER, String.valueOf(remaining));
+        }
+
+        return application.vertx().eventBus()
+                .<Invocation>request(plan.annotation().address(), new Invocation(values), options)
+                .recover(e -> Future.failedFuture(e instanceof ReplyException reply && reply.failureCode() == 400
+                        ? new ClientException(reply.getMessage())
+                        : new ServerException("offload failed: " + e.getMessage(), e)))
+                .map(reply -> reply.body().value(0));
+    }
+
+    /**
+     * 注册消费者；配置 consumer = false 的节点只转发，返回 null。
+     */
+    public MessageConsumer<Invocation> register(RoutePlan plan) {
+        if (!consumer) {
+            return null;
+        }
+        Vertx vertx = application.vertx();
+        return vertx.eventBus().consumer(plan.annotation().address(), message -> {
+            Callable<Object> call = () -> invoke(plan, message);
+            Future<Object> result;
+            if (plan.annotation().isBlocking()) {
+                result = vertx.executeBlocking(call, false);
+            } else {
+                try {
+                    result = Future.succeededFuture(call.call());
+                } catch (Exception e) {
+                    result = Future.failedFuture(e);
+                }
+            }
+            result.compose(value -> value instanceof Future<?> future ? future.map(v -> (Object) v) : Future.succeededFuture(value))
+                    .onSuccess(value -> message.reply(Invocation.of(value)))
+                    .onFailure(e -> {
+                        boolean client = e instanceof ClientException || e.getCause() instanceof ClientException;
+                        if (!client) {
+                            logger.error("offloaded handler failed.", e);
+                        }
+                        message.fail(client ? 400 : 500, e.getMessage());
+                    });
+        });
+    }
+
+    private Object invoke(RoutePlan plan, Message<Invocation> message) throws Exception {
+        Parameter[] parameters = plan.parameters();
+        Object[] values = message.body().values();
+        Object[] args = new Object[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            args[i] = resolve(parameters[i], values[i], message);
+        }
+        try {
+            return plan.method().invoke(plan.instance(), args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+
+    private Object resolve(Parameter parameter, Object value, Message<Invocation> message) {
+        Class<?> type = parameter.getType();
+        if (type.equals(Vertx.class)) {
+            return application.vertx();
+        }
+        if (type.equals(WebClient.class)) {
+            return application.webClient();
+        }
+        if (type.equals(ResponseCaches.class)) {
+            return application.responseCaches();
+        }
+        if (type.equals(Broadcaster.class)) {
+            return application.broadcaster();
+        }
+        if (type.equals(Deadline.class)) {
+            String remaining = message.headers().get(DEADLINE_HEADER);
+            return remaining == null ? Deadline.none() : Deadline.of(Long.parseLong(remaining), false);
+        }
+        //bean、集合与值类型在编码时改变了类型，按声明类型还原
+        return InvocationCodec.restore(type, parameter.getParameterizedType(), value);
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.offload;
+
+/**
+ * 通过 event bus 传递的参数列表或返回值，由 InvocationCodec 编码。
+ */
+public class Invocation {
+
+    private final Object[] values;
+
+    public Invocation(Object[] values) {
+        this.values = values;
+    }
+
+    //单个返回值
+    public static Invocation of(Object value) {
+        return new Invocation(new Object[]{value});
+    }
+
+    public Object[] values() {
+        return values;
+    }
+
+    public Object value(int index) {
+        return values[index];
+    }
+
+    public int size() {
+        return values.length;
+    }
+}
@@ -0,0 +1,320 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.offload;
+
+import com.github.lcnap.vertx.webmvc.ClientException;
+import com.github.lcnap.vertx.webmvc.ServerException;
+import com.github.lcnap.vertx.webmvc.format.WireFormat;
+import com.github.lcnap.vertx.webmvc.utils.TypeConverter;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageCodec;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Invocation 的二进制编码：值个数 + 每个值的类型标记与内容。
+ * 基本类型、String、Buffer 直接编码；枚举、日期时间、UUID、BigDecimal 等值类型按字符串编码，Date 按毫秒数编码；
+ * 数组、Collection 解码为 JsonArray，JsonObject、Map 与其他对象解码为 JsonObject，这些结构化的值按 CBOR 编码，
+ * classpath 上没有 CBOR 模块时退回 JSON 文本。消费者按参数的声明类型用 restore 还原。
+ * 本地投递时不编码，直接传递同一对象。
+ */
+public class InvocationCodec implements MessageCodec<Invocation, Invocation> {
+
+    public final static String NAME = "webmvc-invocation";
+
+    private final static byte NULL = 0;
+    private final static byte STRING = 1;
+    private final static byte INT = 2;
+    private final static byte LONG = 3;
+    private final static byte DOUBLE = 4;
+    private final static byte FLOAT = 5;
+    private final static byte BOOLEAN = 6;
+    private final static byte SHORT = 7;
+    private final static byte BYTE = 8;
+    private final static byte BUFFER = 9;
+    private final static byte JSON_OBJECT = 10;
+    private final static byte JSON_ARRAY = 11;
+    private final static byte CBOR_OBJECT = 12;
+    private final static byte CBOR_ARRAY = 13;
+
+    @Override
+    public void encodeToWire(Buffer buffer, Invocation invocation) {
+        Object[] values = invocation.values();
+        buffer.appendInt(values.length);
+        for (Object value : values) {
+            encode(buffer, value);
+        }
+    }
+
+    private static void encode(Buffer buffer, Object value) {
+        switch (value) {
+            case null -> buffer.appendByte(NULL);
+            case String s -> appendBytes(buffer.appendByte(STRING), s.getBytes(StandardCharsets.UTF_8));
+            case Integer i -> buffer.appendByte(INT).appendInt(i);
+            case Long l -> buffer.appendByte(LONG).appendLong(l);
+            case Double d -> buffer.appendByte(DOUBLE).appendDouble(d);
+            case Float f -> buffer.appendByte(FLOAT).appendFloat(f);
+            case Boolean b -> buffer.appendByte(BOOLEAN).appendByte((byte) (b ? 1 : 0));
+            case Short s -> buffer.appendByte(SHORT).appendShort(s);
+            case Byte b -> buffer.appendByte(BYTE).appendByte(b);
+            case Buffer b -> {
+                buffer.appendByte(BUFFER).appendInt(b.length());
+                buffer.appendBuffer(b);
+            }
+            case JsonArray array -> appendArray(buffer, array);
+            case Collection<?> collection -> appendArray(buffer, new JsonArray(collection.stream().toList()));
+            case JsonObject object -> appendObject(buffer, object);
+            case Map<?, ?> map -> {
+                JsonObject object = new JsonObject();
+                map.forEach((k, v) -> object.put(String.valueOf(k), v));
+                appendObject(buffer, object);
+            }
+            case Date date -> buffer.appendByte(LONG).appendLong(date.getTime());
+            case Enum<?> e -> appendBytes(buffer.appendByte(STRING), e.name().getBytes(StandardCharsets.UTF_8));
+            case Character c -> appendBytes(buffer.appendByte(STRING), c.toString().getBytes(StandardCharsets.UTF_8));
+            case TemporalAccessor t -> appendBytes(buffer.appendByte(STRING), t.toString().getBytes(StandardCharsets.UTF_8));
+            case Number n -> appendBytes(buffer.appendByte(STRING), n.toString().getBytes(StandardCharsets.UTF_8));
+            case UUID u -> appendBytes(buffer.appendByte(STRING), u.toString().getBytes(StandardCharsets.UTF_8));
+            default -> {
+                if (value.getClass().isArray()) {
+                    appendArray(buffer, new JsonArray(arrayToList(value)));
+                } else {
+                    //先按 vertx 的规则转成 JsonObject，与本地投递时 mapTo 的规则一致
+                    appendObject(buffer, JsonObject.mapFrom(value));
+                }
+            }
+        }
+    }
+
+    //基本类型数组逐个装箱
+    private static List<Object> arrayToList(Object array) {
+        int length = Array.getLength(array);
+        List<Object> list = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            list.add(Array.get(array, i));
+        }
+        return list;
+    }
+
+    private static void appendObject(Buffer buffer, JsonObject object) {
+        if (WireFormat.CBOR.available()) {
+            appendBytes(buffer.appendByte(CBOR_OBJECT), WireFormat.CBOR.encode(object).getBytes());
+        } else {
+            appendBytes(buffer.appendByte(JSON_OBJECT), object.toBuffer().getBytes());
+        }
+    }
+
+    private static void appendArray(Buffer buffer, JsonArray array) {
+        if (WireFormat.CBOR.available()) {
+            appendBytes(buffer.appendByte(CBOR_ARRAY), WireFormat.CBOR.encode(array).getBytes());
+        } else {
+            appendBytes(buffer.appendByte(JSON_ARRAY), array.toBuffer().getBytes());
+        }
+    }
+
+    private static void appendBytes(Buffer buffer, byte[] bytes) {
+        buffer.appendInt(bytes.length).appendBytes(bytes);
+    }
+
+    @Override
+    public Invocation decodeFromWire(int pos, Buffer buffer) {
+        int count = buffer.getInt(pos);
+        pos += 4;
+        Object[] values = new Object[count];
+        for (int i = 0; i < count; i++) {
+            byte tag = buffer.getByte(pos++);
+            switch (tag) {
+                case NULL -> values[i] = null;
+                case INT -> {
+                    values[i] = buffer.getInt(pos);
+                    pos += 4;
+                }
+                case LONG -> {
+                    values[i] = buffer.getLong(pos);
+                    pos += 8;
+                }
+                case DOUBLE -> {
+                    values[i] = buffer.getDouble(pos);
+                    pos += 8;
+                }
+                case FLOAT -> {
+                    values[i] = buffer.getFloat(pos);
+                    pos += 4;
+                }
+                case BOOLEAN -> values[i] = buffer.getByte(pos++) != 0;
+                case SHORT -> {
+                    values[i] = buffer.getShort(pos);
+                    pos += 2;
+                }
+                case BYTE -> values[i] = buffer.getByte(pos++);
+                case STRING, BUFFER, JSON_OBJECT, JSON_ARRAY, CBOR_OBJECT, CBOR_ARRAY -> {
+                    int length = buffer.getInt(pos);
+                    pos += 4;
+                    Buffer bytes = buffer.getBuffer(pos, pos + length);
+                    pos += length;
+                    values[i] = switch (tag) {
+                        case STRING -> bytes.toString(StandardCharsets.UTF_8);
+                        case BUFFER -> bytes;
+                        case JSON_OBJECT -> new JsonObject(bytes);
+                        case CBOR_OBJECT -> WireFormat.CBOR.decodeObject(bytes);
+                        case CBOR_ARRAY -> WireFormat.CBOR.decodeArray(bytes);
+                        default -> new JsonArray(bytes);
+                    };
+                }
+                default -> throw new ServerException("bad invocation tag: " + tag);
+            }
+        }
+        return new Invocation(values);
+    }
+
+    /**
+     * 把解码后的值还原为参数的声明类型：JsonArray 还原为 List/Set/数组，JsonObject 还原为 bean，
+     * 字符串还原为枚举、日期时间等值类型，毫秒数还原为 Date。本地投递的值已是声明类型，原样返回。
+     */
+    public static Object restore(Class<?> type, Type genericType, Object value) {
+        if (value == null || type.isInstance(value)) {
+            return value;
+        }
+        if (value instanceof JsonArray array) {
+            return restoreArray(type, genericType, array);
+        }
+        if (value instanceof JsonObject json) {
+            return json.mapTo(type);
+        }
+        Class<?> boxed = box(type);
+        if (boxed.isInstance(value)) {
+            return value;
+        }
+        if (value instanceof Number number) {
+            return restoreNumber(boxed, number);
+        }
+        if (value instanceof String text) {
+            return restoreText(boxed, text);
+        }
+        throw new ClientException("can not restore " + value.getClass().getSimpleName() + " as " + type.getSimpleName());
+    }
+
+    private static Object restoreArray(Class<?> type, Type genericType, JsonArray array) {
+        Class<?> elementType = type.isArray() ? type.getComponentType() : TypeConverter.elementType(genericType);
+        if (type.isArray()) {
+            Object result = Array.newInstance(elementType, array.size());
+            for (int i = 0; i < array.size(); i++) {
+                Array.set(result, i, restore(elementType, elementType, array.getValue(i)));
+            }
+            return result;
+        }
+        Collection<Object> result = type == Set.class ? new LinkedHashSet<>() : new ArrayList<>(array.size());
+        for (Object element : array) {
+            result.add(restore(elementType, elementType, element));
+        }
+        if (!type.isInstance(result)) {
+            throw new ClientException("can not restore array as " + type.getSimpleName());
+        }
+        return result;
+    }
+
+    private static Object restoreNumber(Class<?> type, Number number) {
+        if (type == Integer.class) {
+            return number.intValue();
+        }
+        if (type == Long.class) {
+            return number.longValue();
+        }
+        if (type == Double.class) {
+            return number.doubleValue();
+        }
+        if (type == Float.class) {
+            return number.floatValue();
+        }
+        if (type == Short.class) {
+            return number.shortValue();
+        }
+        if (type == Byte.class) {
+            return number.byteValue();
+        }
+        if (type == Date.class) {
+            return new Date(number.longValue());
+        }
+        return restoreText(type, number.toString());
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object restoreText(Class<?> type, String text) {
+        if (type.isEnum()) {
+            return Enum.valueOf((Class<? extends Enum>) type, text);
+        }
+        if (type == Character.class && text.length() == 1) {
+            return text.charAt(0);
+        }
+        if (TypeConverter.isConvertible(type)) {
+            return TypeConverter.convert(type, text);
+        }
+        try {
+            //LocalDate 等的 parse，UUID 的 fromString，BigDecimal 等的字符串构造方法
+            for (String name : new String[]{"parse", "fromString", "valueOf"}) {
+                try {
+                    Method factory = type.getMethod(name, name.equals("parse") ? CharSequence.class : String.class);
+                    if (Modifier.isStatic(factory.getModifiers()) && type.isAssignableFrom(factory.getReturnType())) {
+                        return factory.invoke(null, text);
+                    }
+                } catch (NoSuchMethodException e) {
+                    //试下一个
+                }
+            }
+            return type.getConstructor(String.class).newInstance(text);
+        } catch (ReflectiveOperationException e) {
+            throw new ClientException("can not restore " + text + " as " + type.getSimpleName(), e);
+        }
+    }
+
+    private static Class<?> box(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        return MethodType.methodType(type).wrap().returnType();
+    }
+
+    @Override
+    public Invocation transform(Invocation invocation) {
+        return invocation;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte systemCodecID() {
+        return -1;
+    }
+}
@@ -0,0 +1,326 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.push;
+
+import com.github.lcnap.vertx.webmvc.Overflow;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.http.ServerWebSocket;
+import io.vertx.core.http.WebSocketFrame;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonObject;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 主题广播。订阅者按所在 event loop 分片，每个分片的订阅表只在自己的 event loop 上访问，无需加锁；
+ * publish 只序列化一次（SSE 帧与 WebSocket 文本帧各一份），每个分片提交一个任务，分片内把同一份数据写给所有订阅者。
+ * 订阅者的写队列满时按 Overflow 丢弃消息或断开连接。SSE 连接按 heartbeat 毫秒发送注释行保活。
+ * 停机时 close() 结束所有订阅，推送连接不会占住排空时间。
+ */
+public class Broadcaster {
+
+    private final static Buffer HEARTBEAT = Buffer.buffer(":\n\n");
+
+    private final Vertx vertx;
+
+    private final long heartbeat;
+
+    //event loop 线程 -> 分片；请求的 Context 是按请求复制的，不能作为键
+    private final Map<Thread, Shard> shards = new ConcurrentHashMap<>();
+
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    private final LongAdder published = new LongAdder();
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final LongAdder disconnected = new LongAdder();
+
+    //停机后新的订阅立即结束
+    private volatile boolean closed;
+
+    public Broadcaster(Vertx vertx, long heartbeat) {
+        this.vertx = vertx;
+        this.heartbeat = heartbeat;
+    }
+
+    /**
+     * 向主题的所有订阅者推送，可在任意线程调用。
+     */
+    public void publish(String topic, Object message) {
+        publish(topic, null, message);
+    }
+
+    //event 为 SSE 的事件名，WebSocket 忽略
+    public void publish(String topic, String event, Object message) {
+        String json = message instanceof String text ? text : Json.encode(message);
+        Buffer sse = Buffer.buffer(json.length() + 16);
+        if (event != null) {
+            sse.appendString("event: ").appendString(event).appendString("\n");
+        }
+        sse.appendString("data: ").appendString(json).appendString("\n\n");
+        Message frame = new Message(sse, WebSocketFrame.textFrame(json, true));
+        published.increment();
+        for (Shard shard : shards.values()) {
+            shard.context.runOnContext(v -> shard.deliver(topic, frame));
+        }
+    }
+
+    /**
+     * 在当前 event loop 上订阅 SSE，设置响应头并保持连接。
+     */
+    public void subscribe(String topic, HttpServerResponse response, int bufferSize, Overflow overflow) {
+        response.setChunked(true)
+                .putHeader("content-type", "text/event-stream; charset=utf-8")
+                .putHeader("cache-control", "no-cache")
+                .setWriteQueueMaxSize(bufferSize);
+        response.write(HEARTBEAT);
+        add(topic, new SseSubscriber(response, overflow));
+    }
+
+    public void subscribe(String topic, ServerWebSocket webSocket, int bufferSize, Overflow overflow) {
+        webSocket.setWriteQueueMaxSize(bufferSize);
+        add(topic, new WebSocketSubscriber(webSocket, overflow));
+    }
+
+    public JsonObject stats() {
+        return new JsonObject()
+                .put("shards", shards.size())
+                .put("subscribers", subscribers.get())
+                .put("published", published.sum())
+                .put("dropped", dropped.sum())
+                .put("disconnected", disconnected.sum());
+    }
+
+    /**
+     * 结束所有订阅：SSE 结束响应，WebSocket 以 1001 关闭。在各分片的 event loop 上执行，全部提交后完成。
+     */
+    public Future<Void> close() {
+        closed = true;
+        List<Future<Void>> futures = new ArrayList<>(shards.size());
+        for (Shard shard : shards.values()) {
+            Promise<Void> promise = Promise.promise();
+            shard.context.runOnContext(v -> {
+                shard.shutdown();
+                promise.complete();
+            });
+            futures.add(promise.future());
+        }
+        return Future.all(futures).mapEmpty();
+    }
+
+    private void add(String topic, Subscriber subscriber) {
+        if (closed) {
+            subscriber.shutdown();
+            return;
+        }
+        Context context = vertx.getOrCreateContext();
+        Shard shard = shards.computeIfAbsent(Thread.currentThread(), t -> new Shard(context));
+        shard.add(topic, subscriber);
+        subscribers.incrementAndGet();
+        subscriber.closeHandler(() -> {
+            if (shard.remove(topic, subscriber)) {
+                subscribers.decrementAndGet();
+            }
+        });
+    }
+
+    //同一份 Buffer/帧写给多个连接，写出时各自复制读索引
+    private record Message(Buffer sse, WebSocketFrame text) {
+    }
+
+    private final class Shard {
+
+        private final Context context;
+
+        private final Map<String, List<Subscriber>> topics = new HashMap<>();
+
+        private final List<SseSubscriber> sse = new ArrayList<>();
+
+        Shard(Context context) {
+            this.context = context;
+            //在分片的 event loop 上创建，定时器在同一线程执行
+            if (heartbeat > 0) {
+                vertx.setPeriodic(heartbeat, id -> {
+                    for (int i = sse.size() - 1; i >= 0; i--) {
+                        SseSubscriber subscriber = sse.get(i);
+                        if (!subscriber.full()) {
+                            subscriber.response.write(HEARTBEAT);
+                        }
+                    }
+                });
+            }
+        }
+
+        void add(String topic, Subscriber subscriber) {
+            topics.computeIfAbsent(topic, k -> new ArrayList<>()).add(subscriber);
+            if (subscriber instanceof SseSubscriber s) {
+                sse.add(s);
+            }
+        }
+
+        //已移除（如停机时已结束）时返回 false
+        boolean remove(String topic, Subscriber subscriber) {
+            List<Subscriber> list = topics.get(topic);
+            boolean removed = list != null && list.remove(subscriber);
+            if (removed && list.isEmpty()) {
+                topics.remove(topic);
+            }
+            if (subscriber instanceof SseSubscriber s) {
+                sse.remove(s);
+            }
+            return removed;
+        }
+
+        void shutdown() {
+            for (List<Subscriber> list : topics.values()) {
+                for (Subscriber subscriber : list) {
+                    subscribers.decrementAndGet();
+                    subscriber.shutdown();
+                }
+            }
+            topics.clear();
+            sse.clear();
+        }
+
+        //倒序遍历，断开连接时即使同步移除也不影响遍历
+        void deliver(String topic, Message message) {
+            List<Subscriber> list = topics.get(topic);
+            if (list == null) {
+                return;
+            }
+            for (int i = list.size() - 1; i >= 0; i--) {
+                if (i >= list.size()) {
+                    continue;
+                }
+                Subscriber subscriber = list.get(i);
+                if (subscriber.full()) {
+                    if (subscriber.overflow == Overflow.DISCONNECT) {
+                        disconnected.increment();
+                        subscriber.close();
+                    } else {
+                        dropped.increment();
+                    }
+                    continue;
+                }
+                subscriber.write(message);
+            }
+        }
+    }
+
+    private abstract static class Subscriber {
+
+        final Overflow overflow;
+
+        Subscriber(Overflow overflow) {
+            this.overflow = overflow;
+        }
+
+        abstract boolean full();
+
+        abstract void write(Message message);
+
+        //写队列满时断开
+        abstract void close();
+
+        //停机时正常结束
+        abstract void shutdown();
+
+        abstract void closeHandler(Runnable handler);
+    }
+
+    private final static class SseSubscriber extends Subscriber {
+
+        private final HttpServerResponse response;
+
+        SseSubscriber(HttpServerResponse response, Overflow overflow) {
+            super(overflow);
+            this.response = response;
+        }
+
+        @Override
+        boolean full() {
+            return response.writeQueueFull();
+        }
+
+        @Override
+        void write(Message message) {
+            response.write(message.sse());
+        }
+
+        @Override
+        void close() {
+            //中止而不是正常结束：HTTP/1.x 关闭连接，HTTP/2 重置流
+            response.reset();
+        }
+
+        @Override
+        void shutdown() {
+            response.end();
+        }
+
+        @Override
+        void closeHandler(Runnable handler) {
+            response.closeHandler(v -> handler.run());
+        }
+    }
+
+    private final static class WebSocketSubscriber extends Subscriber {
+
+        private final ServerWebSocket webSocket;
+
+        WebSocketSubscriber(ServerWebSocket webSocket, Overflow overflow) {
+            super(overflow);
+            this.webSocket = webSocket;
+        }
+
+        @Override
+        boolean full() {
+            return webSocket.writeQueueFull();
+        }
+
+        @Override
+        void write(Message message) {
+            webSocket.writeFrame(message.text());
+        }
+
+        @Override
+        void close() {
+            webSocket.close((short) 1008, "slow consumer");
+        }
+
+        @Override
+        void shutdown() {
+            webSocket.close((short) 1001, "server shutting down");
+        }
+
+        @Override
+        void closeHandler(Runnable handler) {
+            webSocket.closeHandler(v -> handler.run());
+        }
+    }
+}
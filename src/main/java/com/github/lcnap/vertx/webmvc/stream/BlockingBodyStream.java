@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.lcnap.vertx.webmvc.stream;
+
+import com.github.lcnap.vertx.webmvc.ClientException;
+import com.github.lcnap.vertx.webmvc.ServerException;
+import io.vertx.core.Context;
+import io.vertx.core.streams.ReadStream;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 把 ReadStream 转为 worker 线程上可阻塞迭代的 java.util.stream.Stream。
+ * 队列超过高水位时暂停上游，消费到低水位时在事件循环上恢复，内存占用有上限。
+ */
+class BlockingBodyStream<T> {
+
+    private final static int HIGH_WATERMARK = 256;
+
+    private final static int LOW_WATERMARK = 64;
+
+    private final static Object END = new Object();
+
+    private record Failure(Throwable cause) {
+    }
+
+    private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+
+    private final Context context;
+
+    private final ReadStream<T> source;
+
+    //只在事件循环上修改
+    private volatile boolean paused = true;
+
+    private final AtomicBoolean resuming = new AtomicBoolean();
+
+    BlockingBodyStream(Context context, ReadStream<T> source) {
+        this.context = context;
+        this.source = source;
+
+        context.runOnContext(v -> {
+            source.exceptionHandler(e -> queue.add(new Failure(e)));
+            source.endHandler(end -> queue.add(END));
+            source.handler(item -> {
+                queue.add(item);
+                if (!paused && queue.size() >= HIGH_WATERMARK) {
+                    paused = true;
+                    source.pause();
+                }
+            });
+            paused = false;
+            source.resume();
+        });
+    }
+
+    Stream<T> stream() {
+        Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED) {
+            private boolean done;
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public boolean tryAdvance(Consumer<? super T> action) {
+                if (done) {
+                    return false;
+                }
+                Object item = take();
+                if (item == END) {
+                    done = true;
+                    return false;
+                }
+                if (item instanceof Failure failure) {
+                    done = true;
+                    throw new ClientException("read request body failed.", failure.cause());
+                }
+                action.accept((T) item);
+                return true;
+            }
+        };
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    private Object take() {
+        Object item;
+        try {
+            item = queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServerException("read request body interrupted.", e);
+        }
+        if (paused && queue.size() <= LOW_WATERMARK && resuming.compareAndSet(false, true)) {
+            context.runOnContext(v -> {
+                resuming.set(false);
+                paused = false;
+                source.resume();
+            });
+        }
+        return item;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.lcnap.vertx.webmvc.stream;
+
+import com.github.lcnap.vertx.webmvc.ClientException;
+import io.vertx.core.Handler;
+import io.vertx.core.streams.ReadStream;
+
+import java.util.function.Function;
+
+/**
+ * 逐个元素转换的 ReadStream，流控直接透传给上游。
+ * mapper 返回 null 表示丢弃该元素（如数组起止标记、空行），并向上游补一个 fetch。
+ */
+class MappingReadStream<S, T> implements ReadStream<T> {
+
+    private final ReadStream<S> source;
+
+    private final Function<S, T> mapper;
+
+    private Handler<Throwable> exceptionHandler;
+
+    MappingReadStream(ReadStream<S> source, Function<S, T> mapper) {
+        this.source = source;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public ReadStream<T> exceptionHandler(Handler<Throwable> handler) {
+        this.exceptionHandler = handler;
+        source.exceptionHandler(handler);
+        return this;
+    }
+
+    @Override
+    public ReadStream<T> handler(Handler<T> handler) {
+        if (handler == null) {
+            source.handler(null);
+            return this;
+        }
+        source.handler(item -> {
+            T mapped;
+            try {
+                mapped = mapper.apply(item);
+            } catch (RuntimeException e) {
+                source.pause();
+                if (exceptionHandler != null) {
+                    exceptionHandler.handle(new ClientException("decode request body failed.", e));
+                }
+                return;
+            }
+            if (mapped == null) {
+                source.fetch(1);
+                return;
+            }
+            handler.handle(mapped);
+        });
+        return this;
+    }
+
+    @Override
+    public ReadStream<T> pause() {
+        source.pause();
+        return this;
+    }
+
+    @Override
+    public ReadStream<T> resume() {
+        source.resume();
+        return this;
+    }
+
+    @Override
+    public ReadStream<T> fetch(long amount) {
+        source.fetch(amount);
+        return this;
+    }
+
+    @Override
+    public ReadStream<T> endHandler(Handler<Void> endHandler) {
+        source.endHandler(endHandler);
+        return this;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.lcnap.vertx.webmvc.stream;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.json.Json;
+import io.vertx.core.parsetools.JsonEventType;
+import io.vertx.core.parsetools.JsonParser;
+import io.vertx.core.parsetools.RecordParser;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.ext.web.RoutingContext;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.stream.Stream;
+
+/**
+ * 请求体注入：Buffer、ReadStream&lt;Buffer&gt;、ReadStream&lt;T&gt;、Stream&lt;T&gt;。
+ * <p>
+ * 含 ReadStream/Stream 参数的路由不经过 BodyHandler，请求体边读边解码：
+ * Content-Type 含 ndjson 时按行解码，否则按 JSON 数组逐个元素解码。
+ * 注入的 ReadStream 处于暂停状态，设置 handler 后调用 resume()/fetch() 或直接 pipeTo()。
+ * Stream&lt;T&gt; 会阻塞迭代，只能用于 isBlocking = true 的路由。
+ */
+public class RequestBodyStreams {
+
+    public static boolean isBodyParameter(Class<?> type) {
+        return type.equals(Buffer.class) || isStreamingParameter(type);
+    }
+
+    //需要跳过 BodyHandler 的参数
+    public static boolean isStreamingParameter(Class<?> type) {
+        return type.equals(ReadStream.class) || type.equals(Stream.class);
+    }
+
+    public static boolean isStreamingBody(Method method) {
+        for (Class<?> type : method.getParameterTypes()) {
+            if (isStreamingParameter(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static boolean hasBlockingStream(Method method) {
+        for (Class<?> type : method.getParameterTypes()) {
+            if (type.equals(Stream.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 路由上替代 BodyHandler：先暂停请求，避免阻塞路由切换线程期间丢数据。
+     */
+    public static void pause(RoutingContext rc) {
+        rc.request().pause();
+        rc.next();
+    }
+
+    public static Object resolve(Parameter parameter, RoutingContext rc) {
+        Class<?> type = parameter.getType();
+        if (type.equals(Buffer.class)) {
+            return rc.body().buffer();
+        }
+
+        HttpServerRequest request = rc.request();
+        Class<?> elementType = elementType(parameter);
+        if (type.equals(ReadStream.class)) {
+            if (elementType.equals(Buffer.class)) {
+                return request;
+            }
+            return decode(request, elementType);
+        }
+
+        Context context = Vertx.currentContext();
+        if (context == null) {
+            context = rc.vertx().getOrCreateContext();
+        }
+        return new BlockingBodyStream<>(context, decode(request, elementType)).stream();
+    }
+
+    static <T> ReadStream<T> decode(HttpServerRequest request, Class<T> type) {
+        String contentType = request.getHeader("Content-Type");
+        if (contentType != null && contentType.contains("ndjson")) {
+            RecordParser parser = RecordParser.newDelimited("\n", request);
+            return new MappingReadStream<>(parser, line -> {
+                if (line.length() == 0 || line.toString().isBlank()) {
+                    return null;
+                }
+                return Json.decodeValue(line, type);
+            });
+        }
+
+        JsonParser parser = JsonParser.newParser(request).objectValueMode();
+        return new MappingReadStream<>(parser, event -> {
+            if (event.type() != JsonEventType.VALUE) {
+                return null;
+            }
+            return event.mapTo(type);
+        });
+    }
+
+    //泛型参数；缺省时 ReadStream 按 Buffer，Stream 按 Object
+    private static Class<?> elementType(Parameter parameter) {
+        Type generic = parameter.getParameterizedType();
+        if (generic instanceof ParameterizedType parameterized) {
+            Type arg = parameterized.getActualTypeArguments()[0];
+            if (arg instanceof Class<?> clazz) {
+                return clazz;
+            }
+            if (arg instanceof ParameterizedType nested && nested.getRawType() instanceof Class<?> raw) {
+                return raw;
+            }
+        }
+        return parameter.getType().equals(ReadStream.class) ? Buffer.class : Object.class;
+    }
+}
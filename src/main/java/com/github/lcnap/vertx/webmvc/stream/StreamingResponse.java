@@ -0,0 +1,272 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.lcnap.vertx.webmvc.stream;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.Json;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.ext.web.RoutingContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * 流式响应。
+ * Stream、Iterator、ReadStream、Flow.Publisher 逐个元素序列化，
+ * 以 chunked JSON 数组或 NDJSON 输出；写队列满时暂停数据源，drain 后继续。
+ */
+public class StreamingResponse {
+    private final static Logger logger = LoggerFactory.getLogger(StreamingResponse.class);
+
+    //同步数据源合并小元素，减少 write 次数
+    private final static int CHUNK_SIZE = 8 * 1024;
+
+    private final RoutingContext rc;
+
+    private final HttpServerResponse response;
+
+    private final boolean ndjson;
+
+    private Buffer chunk = Buffer.buffer();
+
+    private boolean first = true;
+
+    private StreamingResponse(RoutingContext rc, String produce) {
+        this.rc = rc;
+        this.response = rc.response();
+        this.ndjson = produce.contains("ndjson");
+
+        response.setChunked(true);
+        response.putHeader("content-type", produce);
+    }
+
+    public static boolean isStreaming(Object value) {
+        return value instanceof Stream<?>
+                || value instanceof Iterator<?>
+                || value instanceof ReadStream<?>
+                || value instanceof Flow.Publisher<?>;
+    }
+
+    //声明的返回类型是否为流式
+    public static boolean isStreamingType(Class<?> type) {
+        return Stream.class.isAssignableFrom(type)
+                || Iterator.class.isAssignableFrom(type)
+                || ReadStream.class.isAssignableFrom(type)
+                || Flow.Publisher.class.isAssignableFrom(type);
+    }
+
+    /**
+     * @param blocking 是否在 worker 线程上。worker 线程上同步等待 drain，可以直接迭代阻塞的数据源（如数据库游标）。
+     */
+    public static void write(RoutingContext rc, Object value, String produce, boolean blocking) {
+        StreamingResponse writer = new StreamingResponse(rc, produce);
+        if (value instanceof Stream<?> stream) {
+            writer.writeIterator(stream.iterator(), stream::close, blocking);
+        } else if (value instanceof Iterator<?> iterator) {
+            writer.writeIterator(iterator, () -> {
+            }, blocking);
+        } else if (value instanceof ReadStream<?> readStream) {
+            writer.writeReadStream(readStream);
+        } else if (value instanceof Flow.Publisher<?> publisher) {
+            writer.writePublisher(publisher);
+        } else {
+            throw new IllegalArgumentException("not a stream: " + value.getClass());
+        }
+    }
+
+    private void writeIterator(Iterator<?> iterator, Runnable close, boolean blocking) {
+        if (blocking) {
+            pumpBlocking(iterator, close);
+        } else {
+            pump(iterator, close);
+        }
+    }
+
+    //事件循环上迭代，写满后交给 drainHandler 继续
+    private void pump(Iterator<?> iterator, Runnable close) {
+        try {
+            while (iterator.hasNext()) {
+                if (response.closed()) {
+                    close.run();
+                    return;
+                }
+                append(iterator.next());
+                if (chunk.length() >= CHUNK_SIZE) {
+                    flush();
+                    if (response.writeQueueFull()) {
+                        response.drainHandler(v -> {
+                            response.drainHandler(null);
+                            pump(iterator, close);
+                        });
+                        return;
+                    }
+                }
+            }
+            finish();
+        } catch (Exception e) {
+            abort(e);
+        }
+        close.run();
+    }
+
+    //worker 线程上迭代，写满时阻塞等待 drain
+    private void pumpBlocking(Iterator<?> iterator, Runnable close) {
+        try {
+            while (iterator.hasNext()) {
+                if (response.closed()) {
+                    return;
+                }
+                append(iterator.next());
+                if (chunk.length() >= CHUNK_SIZE) {
+                    flush();
+                    awaitDrain();
+                }
+            }
+            finish();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abort(e);
+        } catch (Exception e) {
+            abort(e);
+        } finally {
+            close.run();
+        }
+    }
+
+    private void awaitDrain() throws InterruptedException {
+        while (response.writeQueueFull() && !response.closed()) {
+            CountDownLatch latch = new CountDownLatch(1);
+            response.drainHandler(v -> latch.countDown());
+            //drain 可能发生在设置 handler 之前，超时后重新检查
+            latch.await(100, TimeUnit.MILLISECONDS);
+        }
+        response.drainHandler(null);
+    }
+
+    private void writeReadStream(ReadStream<?> stream) {
+        response.closeHandler(v -> stream.pause());
+        stream.exceptionHandler(this::abort);
+        stream.endHandler(v -> finish());
+        stream.handler(item -> {
+            append(item);
+            flush();
+            if (response.writeQueueFull()) {
+                stream.pause();
+                response.drainHandler(v -> {
+                    response.drainHandler(null);
+                    stream.resume();
+                });
+            }
+        });
+        stream.resume();
+    }
+
+    private void writePublisher(Flow.Publisher<?> publisher) {
+        publisher.subscribe(new Flow.Subscriber<Object>() {
+            private Flow.Subscription subscription;
+
+            private final AtomicBoolean awaitingDrain = new AtomicBoolean();
+
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                this.subscription = s;
+                response.closeHandler(v -> s.cancel());
+                s.request(1);
+            }
+
+            @Override
+            public void onNext(Object item) {
+                append(item);
+                flush();
+                if (!response.writeQueueFull()) {
+                    subscription.request(1);
+                    return;
+                }
+                //每次只有一个请求在途，保证 request 串行调用
+                awaitingDrain.set(true);
+                response.drainHandler(v -> requestAfterDrain());
+                if (!response.writeQueueFull()) {
+                    requestAfterDrain();
+                }
+            }
+
+            private void requestAfterDrain() {
+                if (awaitingDrain.compareAndSet(true, false)) {
+                    subscription.request(1);
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                abort(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                finish();
+            }
+        });
+    }
+
+    private void append(Object item) {
+        if (ndjson) {
+            chunk.appendBuffer(Json.encodeToBuffer(item)).appendByte((byte) '\n');
+            return;
+        }
+        chunk.appendByte(first ? (byte) '[' : (byte) ',');
+        chunk.appendBuffer(Json.encodeToBuffer(item));
+        first = false;
+    }
+
+    private void flush() {
+        if (chunk.length() == 0) {
+            return;
+        }
+        response.write(chunk);
+        chunk = Buffer.buffer();
+    }
+
+    private void finish() {
+        if (response.ended() || response.closed()) {
+            return;
+        }
+        if (!ndjson) {
+            chunk.appendString(first ? "[]" : "]");
+        }
+        response.end(chunk);
+    }
+
+    private void abort(Throwable e) {
+        if (response.ended() || response.closed()) {
+            return;
+        }
+        if (!response.headWritten()) {
+            rc.fail(e);
+            return;
+        }
+        //响应头已发出，只能断开连接让客户端感知
+        logger.error("stream response failed.", e);
+        response.reset();
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.lcnap.vertx.webmvc.template;
+
+import com.github.lcnap.vertx.webmvc.utils.LruCache;
+import freemarker.cache.NullCacheStorage;
+import freemarker.template.Configuration;
+import freemarker.template.Template;
+import freemarker.template.TemplateException;
+import io.vertx.core.buffer.Buffer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * FreeMarker 编译后模板的有界缓存。
+ * 直接使用引擎内部的 Configuration（模板加载器、ObjectWrapper 与引擎一致），只替换缓存：
+ * 关闭 Configuration 自带的模板缓存，编译后的模板只保存在这里，数量受 maxSize 限制。
+ * 单独成类，模板引擎不是 FreeMarker 时不会加载 freemarker 的类。
+ */
+class FreeMarkerTemplateCache {
+
+    private final Configuration configuration;
+
+    private final LruCache<String, Template> cache;
+
+    FreeMarkerTemplateCache(Object configuration, int maxSize) {
+        this.configuration = (Configuration) configuration;
+        this.configuration.setCacheStorage(new NullCacheStorage());
+        this.cache = new LruCache<>(maxSize);
+    }
+
+    static boolean supports(Object unwrapped) {
+        return unwrapped != null && unwrapped.getClass().getName().equals("freemarker.template.Configuration");
+    }
+
+    boolean isCompiled(String name) {
+        return cache.containsKey(name);
+    }
+
+    //编译并缓存，会读文件，不要在事件循环上调用
+    void compile(String name) throws IOException {
+        if (!cache.containsKey(name)) {
+            cache.put(name, configuration.getTemplate(name));
+        }
+    }
+
+    Buffer render(Map<String, Object> data, String name) throws IOException, TemplateException {
+        Template template = cache.get(name);
+        if (template == null) {
+            template = configuration.getTemplate(name);
+            cache.put(name, template);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+        try (Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+            template.process(data, writer);
+        }
+        return Buffer.buffer(out.toByteArray());
+    }
+
+    LruCache<String, Template> cache() {
+        return cache;
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.lcnap.vertx.webmvc.template;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.FileSystem;
+import io.vertx.ext.web.common.template.TemplateEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.Map;
+
+/**
+ * 模板渲染。
+ * FreeMarker 使用有界的编译模板缓存；未编译的模板在事件循环上调用时放到 worker 线程编译渲染。
+ * 其他模板引擎走引擎自身的 render 与缓存。
+ */
+public class TemplateRenderer {
+    private final static Logger logger = LoggerFactory.getLogger(TemplateRenderer.class);
+
+    public final static String TEMPLATE_DIR = "templates";
+
+    private final static String DEFAULT_EXTENSION = ".ftl";
+
+    private final Vertx vertx;
+
+    private final TemplateEngine engine;
+
+    private final FreeMarkerTemplateCache freeMarker;
+
+    public TemplateRenderer(Vertx vertx, TemplateEngine engine, int cacheSize) {
+        this.vertx = vertx;
+        this.engine = engine;
+
+        Object unwrapped = engine.unwrap();
+        this.freeMarker = FreeMarkerTemplateCache.supports(unwrapped)
+                ? new FreeMarkerTemplateCache(unwrapped, cacheSize)
+                : null;
+    }
+
+    public Future<Buffer> render(Map<String, Object> data, String template) {
+        if (freeMarker == null) {
+            String file = TEMPLATE_DIR + "/" + template;
+            //引擎实现可能同步读文件，事件循环上统一转到 worker
+            if (Context.isOnEventLoopThread()) {
+                return vertx.<Future<Buffer>>executeBlocking(() -> engine.render(data, file), false)
+                        .compose(f -> f);
+            }
+            return engine.render(data, file);
+        }
+
+        String name = templateName(template);
+        if (freeMarker.isCompiled(name) || !Context.isOnEventLoopThread()) {
+            try {
+                return Future.succeededFuture(freeMarker.render(data, name));
+            } catch (Exception e) {
+                return Future.failedFuture(e);
+            }
+        }
+        return vertx.executeBlocking(() -> freeMarker.render(data, name), false);
+    }
+
+    /**
+     * 预编译 templates 目录下的全部模板，返回编译数量。会读文件，在 worker 线程调用。
+     */
+    public int precompile() {
+        if (freeMarker == null) {
+            logger.info("template engine {} does not support precompile.", engine.getClass().getName());
+            return 0;
+        }
+        FileSystem fs = vertx.fileSystem();
+        if (!fs.existsBlocking(TEMPLATE_DIR)) {
+            return 0;
+        }
+        int count = 0;
+        for (String path : fs.readDirBlocking(TEMPLATE_DIR)) {
+            count += precompile(fs, path);
+        }
+        logger.info("precompiled {} templates.", count);
+        return count;
+    }
+
+    private int precompile(FileSystem fs, String path) {
+        if (fs.propsBlocking(path).isDirectory()) {
+            int count = 0;
+            for (String child : fs.readDirBlocking(path)) {
+                count += precompile(fs, child);
+            }
+            return count;
+        }
+        if (!path.endsWith(DEFAULT_EXTENSION)) {
+            return 0;
+        }
+        //readDir 返回绝对路径，还原成相对 templates 的模板名
+        String normalized = path.replace(File.separatorChar, '/');
+        int index = normalized.lastIndexOf("/" + TEMPLATE_DIR + "/");
+        String name = index >= 0 ? normalized.substring(index + 1) : normalized;
+        try {
+            freeMarker.compile(name);
+            return 1;
+        } catch (Exception e) {
+            logger.warn("precompile template {} failed.", name, e);
+            return 0;
+        }
+    }
+
+    //模板已编译并缓存；非 FreeMarker 引擎总是 false
+    boolean isCompiled(String template) {
+        return freeMarker != null && freeMarker.isCompiled(templateName(template));
+    }
+
+    //与 vertx 的 FreeMarker 引擎保持一致：缺省扩展名为 .ftl
+    private static String templateName(String template) {
+        String name = TEMPLATE_DIR + "/" + template;
+        return name.endsWith(DEFAULT_EXTENSION) ? name : name + DEFAULT_EXTENSION;
+    }
+
+    public TemplateEngine engine() {
+        return engine;
+    }
+}
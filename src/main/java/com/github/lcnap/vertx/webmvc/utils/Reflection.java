@@ -18,6 +18,8 @@ package com.github.lcnap.vertx.webmvc.utils;
 
 
 import com.github.lcnap.vertx.webmvc.HttpHandler;
+import com.github.lcnap.vertx.webmvc.SseHandler;
+import com.github.lcnap.vertx.webmvc.WebSocketHandler;
 
 import java.io.File;
 import java.lang.reflect.Method;
@@ -82,8 +84,9 @@ public class Reflection {
                 Class<?> clazz = Class.forName(pkg + "." + className);
                 Method[] declaredMethods = clazz.getDeclaredMethods();
                 for (Method method : declaredMethods) {
-                    HttpHandler annotation = method.getAnnotation(HttpHandler.class);
-                    if (annotation != null) {
+                    if (method.isAnnotationPresent(HttpHandler.class)
+                            || method.isAnnotationPresent(SseHandler.class)
+                            || method.isAnnotationPresent(WebSocketHandler.class)) {
                         classSet.add(clazz);
                         break;
                     }
@@ -16,8 +16,10 @@
 
 package com.github.lcnap.vertx.webmvc.utils;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.lang.reflect.Array;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.*;
 import java.util.function.Function;
 
 /**
@@ -91,6 +93,108 @@ public class TypeConverter {
         return handler.converter().apply(value);
     }
 
+    /**
+     * 多值参数：List、Set、Collection，以及元素为可转换类型的数组
+     */
+    public static boolean isMultiValue(Class<?> type) {
+        if (type.isArray()) {
+            return TYPE_HANDLER_MAP.containsKey(type.getComponentType());
+        }
+        return type == List.class || type == Set.class || type == Collection.class;
+    }
+
+    /**
+     * 多个取值转换为集合或数组。split 为 true 时每个取值再按逗号拆分；
+     * maxSize 大于 0 时先计数，超出即失败，不做任何转换。int[]/long[] 直接解析，不装箱。
+     */
+    public static Object convertAll(Class<?> type, Type genericType, List<String> values, boolean split, int maxSize) {
+        int[] count = new int[1];
+        forEachToken(values, split, (value, start, end) -> count[0]++);
+        if (maxSize > 0 && count[0] > maxSize) {
+            throw new IllegalArgumentException("exceeds the maximum size limit: " + maxSize);
+        }
+
+        try {
+            if (type == int[].class) {
+                int[] array = new int[count[0]];
+                int[] i = new int[1];
+                forEachToken(values, split, (value, start, end) -> array[i[0]++] = Integer.parseInt(value, start, end, 10));
+                return array;
+            }
+            if (type == long[].class) {
+                long[] array = new long[count[0]];
+                int[] i = new int[1];
+                forEachToken(values, split, (value, start, end) -> array[i[0]++] = Long.parseLong(value, start, end, 10));
+                return array;
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+
+        Class<?> elementType = type.isArray() ? type.getComponentType() : elementType(genericType);
+        TypeHandler<?> handler = TYPE_HANDLER_MAP.get(elementType);
+        if (handler == null) {
+            throw new UnsupportedOperationException("unsupported element type: " + elementType);
+        }
+        Collection<Object> collection = type == Set.class ? new LinkedHashSet<>(count[0] * 2) : new ArrayList<>(count[0]);
+        forEachToken(values, split, (value, start, end) -> collection.add(handler.converter().apply(value.substring(start, end))));
+        if (!type.isArray()) {
+            return collection;
+        }
+        Object array = Array.newInstance(elementType, collection.size());
+        int i = 0;
+        for (Object element : collection) {
+            Array.set(array, i++, element);
+        }
+        return array;
+    }
+
+    /**
+     * 是否为 convert 支持的类型
+     */
+    public static boolean isConvertible(Class<?> type) {
+        return TYPE_HANDLER_MAP.containsKey(type);
+    }
+
+    //List<T> 的 T，未声明时按 String
+    public static Class<?> elementType(Type genericType) {
+        if (genericType instanceof ParameterizedType parameterized
+                && parameterized.getActualTypeArguments()[0] instanceof Class<?> element) {
+            return element;
+        }
+        return String.class;
+    }
+
+    //逐个回调非空取值的 [start, end) 区间（已去除两端空格），不创建子串
+    private static void forEachToken(List<String> values, boolean split, TokenConsumer consumer) {
+        for (String value : values) {
+            int length = value.length();
+            int start = 0;
+            while (start <= length) {
+                int end = split ? value.indexOf(',', start) : -1;
+                if (end < 0) {
+                    end = length;
+                }
+                int s = start;
+                int e = end;
+                while (s < e && value.charAt(s) == ' ') {
+                    s++;
+                }
+                while (e > s && value.charAt(e - 1) == ' ') {
+                    e--;
+                }
+                if (s < e) {
+                    consumer.accept(value, s, e);
+                }
+                start = end + 1;
+            }
+        }
+    }
+
+    private interface TokenConsumer {
+        void accept(String value, int start, int end);
+    }
+
     private record TypeHandler<T>(Function<String, T> converter) {
     }
 
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc;
+
+import io.vertx.core.Vertx;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 每个请求在服务端线程（vert.x-*）上分配的字节数。
+ * 客户端使用 JDK HttpClient，不占用 vert.x 线程；预热后按顺序发送请求，取服务端线程分配量之和的平均值。
+ * <p>
+ * 预算 = 同一次运行中 readiness 路由的分配量（HTTP 编解码、在途计数等所有请求共有的开销）+ 各路由的允许量。
+ * 允许量只覆盖 RequestIdHandler、访问日志、参数绑定、方法调用与返回值处理，用于发现 parseArgs、parseReturnValue、
+ * 失败处理等路径上的分配回退。测量值输出到日志，调整允许量时取测量值的 1.5 倍。
+ */
+@DisplayName("分配预算")
+@ExtendWith(VertxExtension.class)
+public class AllocationBudgetTest {
+    final static Logger logger = LoggerFactory.getLogger(AllocationBudgetTest.class);
+
+    private final static int WARMUP = 1000;
+
+    private final static int REQUESTS = 1000;
+
+    //不经过业务路由，作为基线
+    private final static String BASELINE = "/admin/ready";
+
+    private record Budget(int status, long allowance) {
+    }
+
+    //路由 -> 期望的状态码与基线之上每请求字节数上限
+    private final static Map<String, Budget> BUDGETS = new LinkedHashMap<>();
+
+    static {
+        BUDGETS.put("/main/hi?msg=2026", new Budget(200, 12 * 1024L));
+        BUDGETS.put("/main/jsonobject", new Budget(200, 12 * 1024L));
+        BUDGETS.put("/main/bean?code=12&msg=fd232", new Budget(200, 16 * 1024L));
+        BUDGETS.put("/main/cached?id=7", new Budget(200, 12 * 1024L));
+        //event bus 编解码与 worker 切换
+        BUDGETS.put("/main/offloaded?name=ab&times=3", new Budget(200, 32 * 1024L));
+        //失败处理：参数转换失败返回 400，含异常与错误日志
+        BUDGETS.put("/main/hi?msg=abc", new Budget(400, 64 * 1024L));
+    }
+
+    @BeforeEach
+    public void startServer(Vertx vertx, VertxTestContext testContext) {
+        WebApplication.run(vertx, WebApplication.class).onComplete(testContext.succeedingThenComplete());
+    }
+
+    @Test
+    public void budgets(Vertx vertx, VertxTestContext testContext) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        long baseline = measure(client, threads, BASELINE, 200);
+        Map<String, Long> measured = new LinkedHashMap<>();
+        for (Map.Entry<String, Budget> budget : BUDGETS.entrySet()) {
+            measured.put(budget.getKey(), measure(client, threads, budget.getKey(), budget.getValue().status()) - baseline);
+        }
+
+        logger.info("bytes allocated per request: baseline {}, above baseline {}", baseline, measured);
+        testContext.verify(() -> {
+            measured.forEach((route, bytes) -> Assertions.assertTrue(bytes <= BUDGETS.get(route).allowance(),
+                    route + " allocated " + bytes + " bytes per request above baseline, allowance " + BUDGETS.get(route).allowance()));
+            testContext.completeNow();
+        });
+    }
+
+    //预热后测量每请求的平均分配量，每个响应都检查状态码，避免 404 等分配更少的路径通过预算
+    private static long measure(HttpClient client, com.sun.management.ThreadMXBean threads, String path, int status) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:8081" + path)).build();
+        send(client, request, WARMUP, status);
+
+        Map<Long, Long> before = allocated(threads);
+        send(client, request, REQUESTS, status);
+        Map<Long, Long> after = allocated(threads);
+
+        long total = 0;
+        for (Map.Entry<Long, Long> thread : after.entrySet()) {
+            total += thread.getValue() - before.getOrDefault(thread.getKey(), 0L);
+        }
+        return total / REQUESTS;
+    }
+
+    private static void send(HttpClient client, HttpRequest request, int times, int status) throws Exception {
+        for (int i = 0; i < times; i++) {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            Assertions.assertEquals(status, response.statusCode(), request.uri().toString());
+        }
+    }
+
+    //vert.x 线程 id -> 已分配字节数
+    private static Map<Long, Long> allocated(com.sun.management.ThreadMXBean threads) {
+        Map<Long, Long> allocated = new HashMap<>();
+        for (ThreadInfo info : threads.getThreadInfo(threads.getAllThreadIds())) {
+            if (info != null && info.getThreadName().startsWith("vert.x-")) {
+                long bytes = threads.getThreadAllocatedBytes(info.getThreadId());
+                if (bytes >= 0) {
+                    allocated.put(info.getThreadId(), bytes);
+                }
+            }
+        }
+        return allocated;
+    }
+}
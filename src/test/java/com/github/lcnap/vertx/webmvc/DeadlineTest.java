@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeadlineTest {
+
+    @Test
+    void limitCompletesFirst() {
+        Deadline deadline = Deadline.of(60_000, false);
+        Promise<String> pending = Promise.promise();
+        Future<String> limited = deadline.limit(pending.future());
+        pending.complete("ok");
+        deadline.expire();
+        assertEquals("ok", limited.result());
+    }
+
+    @Test
+    void limitExpiresFirst() {
+        Deadline deadline = Deadline.of(60_000, true);
+        Promise<String> pending = Promise.promise();
+        Future<String> limited = deadline.limit(pending.future());
+        deadline.expire();
+        assertTrue(limited.failed());
+        assertInstanceOf(ServerException.class, limited.cause());
+        //之后完成的结果被丢弃
+        pending.complete("late");
+        assertTrue(limited.failed());
+    }
+
+    @Test
+    void limitWithoutDeadline() {
+        Future<String> future = Promise.<String>promise().future();
+        assertSame(future, Deadline.none().limit(future));
+    }
+}
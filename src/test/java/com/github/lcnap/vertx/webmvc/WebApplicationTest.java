@@ -16,12 +16,24 @@
 
 package com.github.lcnap.vertx.webmvc;
 
+import com.github.lcnap.vertx.webmvc.cache.ResponseCaches;
+import com.github.lcnap.vertx.webmvc.metrics.WebMetrics;
+import com.github.lcnap.vertx.webmvc.push.Broadcaster;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientRequest;
 import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.PoolOptions;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
 import io.vertx.ext.web.RoutingContext;
 import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.client.WebClientOptions;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
 import org.junit.jupiter.api.Assertions;
@@ -32,7 +44,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 @DisplayName("简单测试")
 @ExtendWith(VertxExtension.class)
@@ -78,6 +97,94 @@ public class WebApplicationTest {
             return msg;
         }
 
+        static final AtomicInteger interrupted = new AtomicInteger();
+
+        @HttpHandler(path = "/slow", isBlocking = true, timeout = 500)
+        public String slow(Deadline deadline) {
+            try {
+                Thread.sleep(deadline.remaining() + 5000);
+            } catch (InterruptedException e) {
+                interrupted.incrementAndGet();
+            }
+            return "late";
+        }
+
+        static final AtomicInteger cancelled = new AtomicInteger();
+
+        //返回的 Future 不会完成，到期时框架不再等待并执行取消回调
+        @HttpHandler(path = "/pending", timeout = 200)
+        public Future<String> pending(Deadline deadline) {
+            deadline.onExpire(cancelled::incrementAndGet);
+            return Promise.<String>promise().future();
+        }
+
+        //不响应中断，超时后仍在 worker 上执行
+        @HttpHandler(path = "/stubborn", isBlocking = true, timeout = 200)
+        public String stubborn() {
+            long end = System.nanoTime() + 1_000_000_000L;
+            while (System.nanoTime() < end) {
+                Thread.onSpinWait();
+            }
+            return "done";
+        }
+
+        @HttpHandler(path = "/limited")
+        @RateLimit(permits = 1, period = 1, unit = TimeUnit.MINUTES, by = RateLimit.By.ROUTE)
+        public String limited() {
+            return "ok";
+        }
+
+        @HttpHandler(path = "/offloaded", address = "webmvc.test.offloaded", isBlocking = true)
+        public JsonObject offloaded(String name, int times, Vertx vertx) {
+            return new JsonObject().put("value", name.repeat(times)).put("worker", Context.isOnWorkerThread());
+        }
+
+        @HttpHandler(path = "/stream")
+        public Stream<Msg> stream(int count) {
+            return IntStream.range(0, count).mapToObj(i -> new Msg());
+        }
+
+        //worker 线程上按写队列阻塞推进
+        @HttpHandler(path = "/stream/blocking", isBlocking = true, produce = "application/x-ndjson")
+        public Stream<Msg> blockingStream(int count) {
+            return IntStream.range(0, count).mapToObj(i -> new Msg());
+        }
+
+        @HttpHandler(path = "/compressed")
+        @Compression(minSize = 64, algorithms = {"gzip"}, cache = true)
+        public List<JsonObject> compressed(int count) {
+            return IntStream.range(0, count).mapToObj(i -> JsonObject.mapFrom(new Msg())).toList();
+        }
+
+        static final AtomicInteger cachedCalls = new AtomicInteger();
+
+        @HttpHandler(path = "/cached", method = HttpMethod.GET)
+        @Cacheable(ttl = 60, keyParams = "id")
+        public JsonObject cached(String id) {
+            return new JsonObject().put("id", id).put("calls", cachedCalls.incrementAndGet());
+        }
+
+        @HttpHandler(path = "/cached/head", method = {HttpMethod.GET, HttpMethod.HEAD})
+        @Cacheable(ttl = 60)
+        public JsonObject cachedHead() {
+            return new JsonObject().put("calls", cachedCalls.incrementAndGet());
+        }
+
+        @HttpHandler(path = "/cached/evict")
+        public JsonObject evict(ResponseCaches caches) {
+            caches.invalidate("/main/cached");
+            return caches.stats();
+        }
+
+        static final AtomicInteger coalescedCalls = new AtomicInteger();
+
+        @HttpHandler(path = "/coalesced", method = HttpMethod.GET, isBlocking = true, coalesce = true)
+        public JsonObject coalesced(String id) throws InterruptedException {
+            int calls = coalescedCalls.incrementAndGet();
+            Thread.sleep(500);
+            return new JsonObject().put("id", id).put("calls", calls);
+        }
+
         @HttpHandler(path = "/bean")
         public Bean bean(Bean bean) {
             return bean;
@@ -101,6 +208,74 @@ public class WebApplicationTest {
         }
     }
 
+    @HttpHandler(path = "/scoped", scope = Scope.EVENT_LOOP)
+    public static class ScopedApp {
+
+        private final Vertx vertx;
+
+        //每个 event loop 一个实例，无需加锁
+        private int count;
+
+        public ScopedApp(Vertx vertx, WebClient client) {
+            this.vertx = vertx;
+        }
+
+        @HttpHandler(path = "/count")
+        public JsonObject count() {
+            return new JsonObject().put("count", ++count).put("loop", Thread.currentThread().getName());
+        }
+    }
+
+    @HttpHandler(path = "/body")
+    public static class BodyApp {
+
+        @HttpHandler(path = "/raw", produce = "text/plain; charset=utf-8")
+        public String raw(Buffer body) {
+            return "size " + body.length();
+        }
+
+        //边读边解码，读完后通过 Future 返回
+        @HttpHandler(path = "/items", produce = "text/plain; charset=utf-8")
+        public Future<String> items(ReadStream<Item> items) {
+            Promise<String> promise = Promise.promise();
+            List<String> names = new ArrayList<>();
+            items.exceptionHandler(promise::tryFail);
+            items.endHandler(v -> promise.tryComplete(String.join(",", names)));
+            items.handler(item -> names.add(item.name));
+            items.resume();
+            return promise.future();
+        }
+
+        @HttpHandler(path = "/blocking", isBlocking = true, produce = "text/plain; charset=utf-8")
+        public String blocking(Stream<Item> items) {
+            return items.map(item -> item.name).collect(Collectors.joining(","));
+        }
+
+        static class Item {
+            public String name;
+        }
+    }
+
+    @HttpHandler(path = "/push")
+    public static class PushApp {
+
+        @SseHandler(path = "/events")
+        public String events(String room) {
+            return "room:" + room;
+        }
+
+        @WebSocketHandler(path = "/ws")
+        public String ws(String room) {
+            return "room:" + room;
+        }
+
+        @HttpHandler(path = "/publish")
+        public JsonObject publish(String room, String text, Broadcaster broadcaster) {
+            broadcaster.publish("room:" + room, new JsonObject().put("text", text));
+            return broadcaster.stats();
+        }
+    }
+
     @BeforeEach
     public void startServer(Vertx vertx, VertxTestContext testContext) {
         Future<HttpServer> run = WebApplication.run(vertx, WebApplication.class);
@@ -149,4 +324,353 @@ public class WebApplicationTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    public void stream(Vertx vertx, VertxTestContext testContext) {
+        WebClient client = WebClient.create(vertx);
+        client.get(8081, "localhost", "/main/stream?count=10000").send()
+                .onSuccess(resp -> testContext.verify(() -> {
+                    Assertions.assertEquals(200, resp.statusCode());
+                    Assertions.assertEquals(10000, resp.bodyAsJsonArray().size());
+                    testContext.completeNow();
+                }))
+                .onFailure(testContext::failNow);
+    }
+
+    @Test
+    public void blockingStream(Vertx vertx, VertxTestContext testContext) {
+        WebClient client = WebClient.create(vertx);
+        client.get(8081, "localhost", "/main/stream/blocking?count=10000").send()
+                .onSuccess(resp -> testContext.verify(() -> {
+                    Assertions.assertEquals(200, resp.statusCode());
+                    String[] lines = resp.bodyAsString().split("\n");
+                    Assertions.assertEquals(10000, lines.length);
+                    Assertions.assertEquals("xx", new JsonObject(lines[9999]).getString("code"));
+                    testContext.completeNow();
+                }))
+                .onFailure(testContext::failNow);
+    }
+
+    @Test
+    public void compression(Vertx vertx, VertxTestContext testContext) {
+        WebClient client = WebClient.create(vertx);
+        client.get(8081, "localhost", "/main/compressed?count=100")
+                .putHeader("Accept-Encoding", "br;q=0, gzip")
+                .send()
+                .compose(resp -> {
+                    testContext.verify(() -> {
+                        Assertions.assertEquals(200, resp.statusCode());
+                        Assertions.assertEquals("gzip", resp.getHeader("Content-Encoding"));
+                    });
+                    //同名的项优先于 *
+                    return client.get(8081, "localhost", "/main/compressed?count=100")
+                            .putHeader("Accept-Encoding", "*, gzip;q=0")
+                            .send();
+                })
+                .compose(resp -> {
+                    testContext.verify(() -> Assertions.assertNull(resp.getHeader("Content-Encoding")));
+                    return client.get(8081, "localhost", "/main/compressed?count=100")
+                            .putHeader("Accept-Encoding", "br;q=0, *")
+                            .send();
+                })
+                .compose(resp -> {
+                    testContext.verify(() -> Assertions.assertEquals("gzip", resp.getHeader("Content-Encoding")));
+                    //小于阈值不压缩
+                    return client.get(8081, "localhost", "/main/compressed?count=1")
+                            .putHeader("Accept-Encoding", "gzip")
+                            .send();
+                })
+                .onSuccess(resp -> testContext.verify(() -> {
+                    Assertions.assertNull(resp.getHeader("Content-Encoding"));
+                    Assertions.assertEquals(1, resp.bodyAsJsonArray().size());
+                    testContext.completeNow();
+                }))
+                .onFailure(testContext::failNow);
+    }
+
+    @Test
+    public void cache(Vertx vertx, VertxTestContext testContext) {
+        WebClient client = WebClient.create(vertx);
+        int first = client.get(8081, "localhost", "/main/cached?id=1").send().await().bodyAsJsonObject().getInteger("calls");
+        //命中缓存，不再调用方法；键只含 id
+        int second = client.get(8081, "localhost", "/main/cached?id=1&ignored=x").send().await().bodyAsJsonObject().getInteger("calls");
+        JsonObject stats = client.get(8081, "localhost", "/main/cached/evict").send().await().bodyAsJsonObject();
+        int third = client.get(8081, "localhost", "/main/cached?id=1").send().await().bodyAsJsonObject().getInteger("calls");
+
+        testContext.verify(() -> {
+            Assertions.assertEquals(first, second);
+            Assertions.assertEquals(1, stats.getJsonObject("/main/cached").getLong("hits"));
+            Assertions.assertEquals(first + 1, third);
+            testContext.completeNow();
+        });
+    }
+
+    @Test
+    public void cacheSeparatesHead(Vertx vertx, VertxTestContext testContext) {
+        WebClient client = WebClient.create(vertx);
+        int head = client.head(8081, "localhost", "/main/cached/head").send().await().statusCode();
+        //HEAD 缓存的是空响应体，GET 不能命中它
+        JsonObject body = client.get(8081, "localhost", "/main/cached/head").send().await().bodyAsJsonObject();
+
+        testContext.verify(() -> {
+            Assertions.assertEquals(200, head);
+            Assertions.assertNotNull(body);
+            Assertions.assertNotNull(body.getInteger("calls"));
+            testContext.completeNow();
+        });
+    }
+
+    @Test
+    public void coalesce(Vertx vertx, VertxTestContext testContext) {
+        WebClient client = WebClient.create(vertx);
+        int before = WebApp.coalescedCalls.get();
+        List<Future<JsonObject>> responses = IntStream.range(0, 5)
+                .mapToObj(i -> client.get(8081, "localhost", "/main/coalesced?id=7").send()
+                        .map(resp -> resp.bodyAsJsonObject()))
+                .toList();
+        Future.all(responses).onComplete(testContext.succeeding(all -> testContext.verify(() -> {
+            //并发的相同请求只调用一次方法
+            Assertions.assertEquals(before + 1, WebApp.coalescedCalls.get());
+            for (Future<JsonObject> response : responses) {
+                Assertions.assertEquals(before + 1, response.result().getInteger("calls"));
+            }
+            testContext.completeNow();
+        })));
+    }
+
+    @Test
+    public void deadline(Vertx vertx, VertxTestContext testContext) {
+        WebClient client = WebClient.create(vertx);
+        int before = WebApp.interrupted.get();
+        client.get(8081, "localhost", "/main/slow").send()
+                .compose(resp -> {
+                    //路由超时
+                    testContext.verify(() -> Assertions.assertEquals(503, resp.statusCode()));
+                    return client.get(8081, "localhost", "/main/slow")
+                            .putHeader(Deadline.HEADER, "100")
+                            .send();
+                })
+                .onSuccess(resp -> testContext.verify(() -> {
+                    //客户端截止时间更早
+                    Assertions.assertEquals(504, resp.statusCode());
+                    vertx.setTimer(200, id -> testContext.verify(() -> {
+                        Assertions.assertEquals(before + 2, WebApp.interrupted.get());
+                        testContext.completeNow();
+                    }));
+                }))
+                .onFailure(testContext::failNow);
+    }
+
+    @Test
+    public void deadlineForFuture(Vertx vertx, VertxTestContext testContext) {
+        WebClient client = WebClient.create(vertx);
+        int before = WebApp.cancelled.get();
+        client.get(8081, "localhost", "/main/pending").send()
+                .onSuccess(resp -> testContext.verify(() -> {
+                    Assertions.assertEquals(503, resp.statusCode());
+                    Assertions.assertEquals(before + 1, WebApp.cancelled.get());
+                    testContext.completeNow();
+                }))
+                .onFailure(testContext::failNow);
+    }
+
+    @Test
+    public void concurrencyPermitHeldUntilInvocationEnds(Vertx vertx, VertxTestContext testContext) {
+        WebClient client = WebClient.create(vertx);
+        String inFlight = "webmvc.concurrency./main/stubborn.inFlight";
+        client.get(8081, "localhost", "/main/stubborn").send()
+                .onSuccess(resp -> testContext.verify(() -> {
+                    Assertions.assertEquals(503, resp.statusCode());
+                    //响应已结束，方法仍在执行，名额不释放
+                    Assertions.assertEquals(1, WebMetrics.registry().getGauges().get(inFlight).getValue());
+                    vertx.setTimer(1500, id -> testContext.verify(() -> {
+                        Assertions.assertEquals(0, WebMetrics.registry().getGauges().get(inFlight).getValue());
+                        testContext.completeNow();
+                    }));
+                }))
+                .onFailure(testContext::failNow);
+    }
+
+    @Test
+    public void readiness(Vertx vertx, VertxTestContext testContext) {
+        WebClient client = WebClient.create(vertx);
+        client.get(8081, "localhost", "/admin/ready").send()
+                .onSuccess(resp -> testContext.verify(() -> {
+                    Assertions.assertEquals(200, resp.statusCode());
+                    Assertions.assertEquals("READY", resp.bodyAsString());
+                    testContext.completeNow();
+                }))
+                .onFailure(testContext::failNow);
+    }
+
+    @Test
+    public void scope(Vertx vertx, VertxTestContext testContext) {
+        //只用一个保持的连接，两个请求在服务端同一个 event loop 上
+        WebClient client = WebClient.create(vertx, new WebClientOptions().setKeepAlive(true),
+                new PoolOptions().setHttp1MaxSize(1));
+        JsonObject first = client.get(8081, "localhost", "/scoped/count").send().await().bodyAsJsonObject();
+        JsonObject second = client.get(8081, "localhost", "/scoped/count").send().await().bodyAsJsonObject();
+        testContext.verify(() -> {
+            //同一 event loop 使用同一实例
+            Assertions.assertEquals(first.getString("loop"), second.getString("loop"));
+            Assertions.assertEquals(first.getInteger("count") + 1, second.getInteger("count"));
+            testContext.completeNow();
+        });
+    }
+
+    @Test
+    public void offload(Vertx vertx, VertxTestContext testContext) {
+        WebClient client = WebClient.create(vertx);
+        client.get(8081, "localhost", "/main/offloaded?name=ab&times=3").send()
+                .onSuccess(resp -> testContext.verify(() -> {
+                    Assertions.assertEquals(200, resp.statusCode());
+                    Assertions.assertEquals("ababab", resp.bodyAsJsonObject().getString("value"));
+                    Assertions.assertTrue(resp.bodyAsJsonObject().getBoolean("worker"));
+                    testContext.completeNow();
+                }))
+                .onFailure(testContext::failNow);
+    }
+
+    @Test
+    public void eventLoop(Vertx vertx, VertxTestContext testContext) {
+        WebClient client = WebClient.create(vertx);
+        client.get(8081, "localhost", "/main/hi").addQueryParam("msg", "1").send()
+                //等待延迟探测至少触发一次
+                .compose(v -> vertx.timer(300))
+                .compose(v -> client.get(8081, "localhost", "/admin/event-loop").send())
+                .onSuccess(resp -> testContext.verify(() -> {
+                    Assertions.assertEquals(200, resp.statusCode());
+                    JsonObject report = resp.bodyAsJsonObject();
+                    JsonObject hi = report.getJsonArray("routes").stream()
+                            .map(JsonObject.class::cast)
+                            .filter(route -> route.getString("path").equals("/main/hi"))
+                            .findFirst().orElseThrow();
+                    Assertions.assertTrue(hi.getLong("count") >= 1);
+                    //探测定时器每 100 毫秒触发，每个 event loop 都已有记录
+                    JsonObject lag = report.getJsonObject("lag");
+                    Assertions.assertFalse(lag.isEmpty());
+                    lag.forEach(loop -> Assertions.assertTrue(((JsonObject) loop.getValue()).getLong("maxMillis") >= 0));
+                    testContext.completeNow();
+                }))
+                .onFailure(testContext::failNow);
+    }
+
+    @Test
+    public void batch(Vertx vertx, VertxTestContext testContext) {
+        WebClient client = WebClient.create(vertx);
+        JsonArray entries = new JsonArray()
+                .add(new JsonObject().put("path", "/main/hi").put("params", new JsonObject().put("msg", 2026)))
+                .add(new JsonObject().put("path", "/main/msg"))
+                .add(new JsonObject().put("method", "POST").put("path", "/main/bean")
+                        .put("body", new JsonObject().put("code", 3).put("msg", "m")))
+                .add(new JsonObject().put("path", "/main/missing"))
+                .add(new JsonObject().put("path", "/main/file"));
+        client.post(8081, "localhost", "/batch").sendJson(entries)
+                .onSuccess(resp -> testContext.verify(() -> {
+                    Assertions.assertEquals(200, resp.statusCode());
+                    JsonArray results = resp.bodyAsJsonArray();
+                    Assertions.assertEquals("hi 2026", results.getJsonObject(0).getString("body"));
+                    Assertions.assertEquals("xx", results.getJsonObject(1).getJsonObject("body").getString("code"));
+                    Assertions.assertEquals(3, results.getJsonObject(2).getJsonObject("body").getInteger("code"));
+                    Assertions.assertEquals(404, results.getJsonObject(3).getInteger("status"));
+                    //注入 RoutingContext 的方法不支持批量
+                    Assertions.assertEquals(400, results.getJsonObject(4).getInteger("status"));
+                    testContext.completeNow();
+                }))
+                .onFailure(testContext::failNow);
+    }
+
+    @Test
+    public void batchChargesRouteRateLimit(Vertx vertx, VertxTestContext testContext) {
+        WebClient client = WebClient.create(vertx);
+        JsonArray entries = new JsonArray()
+                .add(new JsonObject().put("path", "/main/limited"))
+                .add(new JsonObject().put("method", "POST").put("path", "/main/limited"));
+        client.post(8081, "localhost", "/batch").sendJson(entries)
+                .compose(resp -> {
+                    testContext.verify(() -> {
+                        JsonArray results = resp.bodyAsJsonArray();
+                        Assertions.assertEquals(200, results.getJsonObject(0).getInteger("status"));
+                        //同一批中的第二项计入同一个限流
+                        Assertions.assertEquals(429, results.getJsonObject(1).getInteger("status"));
+                    });
+                    //批量请求用完的许可对直接请求同样生效
+                    return client.get(8081, "localhost", "/main/limited").send();
+                })
+                .onSuccess(resp -> testContext.verify(() -> {
+                    Assertions.assertEquals(429, resp.statusCode());
+                    testContext.completeNow();
+                }))
+                .onFailure(testContext::failNow);
+    }
+
+    @Test
+    public void requestBodies(Vertx vertx, VertxTestContext testContext) {
+        WebClient client = WebClient.create(vertx);
+        Buffer array = Buffer.buffer("[{\"name\":\"a\"},{\"name\":\"b\"},{\"name\":\"c\"}]");
+        //空行被跳过
+        Buffer ndjson = Buffer.buffer("{\"name\":\"a\"}\n{\"name\":\"b\"}\n\n{\"name\":\"c\"}\n");
+        client.post(8081, "localhost", "/body/raw").sendBuffer(array)
+                .compose(resp -> {
+                    Assertions.assertEquals(200, resp.statusCode());
+                    Assertions.assertEquals("size " + array.length(), resp.bodyAsString());
+                    return client.post(8081, "localhost", "/body/items")
+                            .putHeader("Content-Type", "application/json").sendBuffer(array);
+                })
+                .compose(resp -> {
+                    Assertions.assertEquals("a,b,c", resp.bodyAsString());
+                    return client.post(8081, "localhost", "/body/items")
+                            .putHeader("Content-Type", "application/x-ndjson").sendBuffer(ndjson);
+                })
+                .compose(resp -> {
+                    Assertions.assertEquals("a,b,c", resp.bodyAsString());
+                    return client.post(8081, "localhost", "/body/blocking")
+                            .putHeader("Content-Type", "application/json").sendBuffer(array);
+                })
+                .compose(resp -> {
+                    Assertions.assertEquals("a,b,c", resp.bodyAsString());
+                    return client.post(8081, "localhost", "/body/blocking")
+                            .putHeader("Content-Type", "application/x-ndjson").sendBuffer(ndjson);
+                })
+                .onSuccess(resp -> testContext.verify(() -> {
+                    Assertions.assertEquals(200, resp.statusCode());
+                    Assertions.assertEquals("a,b,c", resp.bodyAsString());
+                    testContext.completeNow();
+                }))
+                .onFailure(testContext::failNow);
+    }
+
+    @Test
+    public void sse(Vertx vertx, VertxTestContext testContext) {
+        HttpClient http = vertx.createHttpClient();
+        WebClient client = WebClient.create(vertx);
+        http.request(io.vertx.core.http.HttpMethod.GET, 8081, "localhost", "/push/events?room=a")
+                .compose(HttpClientRequest::send)
+                .onSuccess(resp -> {
+                    testContext.verify(() -> Assertions.assertTrue(resp.getHeader("content-type").startsWith("text/event-stream")));
+                    resp.handler(chunk -> {
+                        if (chunk.toString().contains("data: {\"text\":\"hello\"}")) {
+                            testContext.completeNow();
+                        }
+                    });
+                    //响应头写出前已完成订阅
+                    client.get(8081, "localhost", "/push/publish?room=a&text=hello").send();
+                })
+                .onFailure(testContext::failNow);
+    }
+
+    @Test
+    public void webSocket(Vertx vertx, VertxTestContext testContext) {
+        WebClient client = WebClient.create(vertx);
+        vertx.createWebSocketClient().connect(8081, "localhost", "/push/ws?room=b")
+                .onSuccess(ws -> {
+                    //握手完成后才订阅，重复推送直到收到
+                    long timer = vertx.setPeriodic(100, id -> client.get(8081, "localhost", "/push/publish?room=b&text=hello").send());
+                    ws.textMessageHandler(text -> testContext.verify(() -> {
+                        vertx.cancelTimer(timer);
+                        Assertions.assertEquals("{\"text\":\"hello\"}", text);
+                        testContext.completeNow();
+                    }));
+                })
+                .onFailure(testContext::failNow);
+    }
+}
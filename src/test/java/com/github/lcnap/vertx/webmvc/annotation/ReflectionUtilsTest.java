@@ -21,12 +21,14 @@ import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.reflect.Method;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Date;
+import java.util.List;
+import java.util.Set;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.*;
 
 class ReflectionUtilsTest {
     final static Logger logger = LoggerFactory.getLogger(ReflectionUtilsTest.class);
@@ -91,4 +93,33 @@ class ReflectionUtilsTest {
         Object convert = TypeConverter.convert(type, "12");
         logger.info("{} {}", convert, convert);
     }
-}
\ No newline at end of file
+
+    @SuppressWarnings("unused")
+    void multi(List<Long> list, Set<String> set) {
+    }
+
+    @Test
+    void convertAll() throws NoSuchMethodException {
+        int[] ints = (int[]) TypeConverter.convertAll(int[].class, int[].class, List.of("1,2", " 3 ", ""), true, 0);
+        assertArrayEquals(new int[]{1, 2, 3}, ints);
+
+        long[] longs = (long[]) TypeConverter.convertAll(long[].class, long[].class, List.of("10,,20"), true, 2);
+        assertArrayEquals(new long[]{10, 20}, longs);
+
+        Method method = ReflectionUtilsTest.class.getDeclaredMethod("multi", List.class, Set.class);
+        Object list = TypeConverter.convertAll(List.class, method.getGenericParameterTypes()[0], List.of("1", "2,3"), true, 0);
+        assertEquals(List.of(1L, 2L, 3L), list);
+
+        Object set = TypeConverter.convertAll(Set.class, method.getGenericParameterTypes()[1], List.of("a,b", "a"), true, 0);
+        assertEquals(Set.of("a", "b"), set);
+
+        //JSON 数组的元素不拆分
+        Object strings = TypeConverter.convertAll(String[].class, String[].class, List.of("a,b", "c"), false, 0);
+        assertArrayEquals(new String[]{"a,b", "c"}, (String[]) strings);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> TypeConverter.convertAll(int[].class, int[].class, List.of("1,2,3"), true, 2));
+        assertThrows(IllegalArgumentException.class,
+                () -> TypeConverter.convertAll(int[].class, int[].class, List.of("1,x"), true, 0));
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.format;
+
+import com.github.lcnap.vertx.webmvc.ClientException;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WireFormatTest {
+
+    @Test
+    void roundTrip() {
+        JsonObject value = new JsonObject().put("name", "中文").put("n", 3).put("list", new JsonArray().add(1).add("b"));
+        for (WireFormat format : WireFormat.values()) {
+            Buffer encoded = format.encode(value);
+            assertEquals(value, format.decodeObject(encoded), format.name());
+        }
+    }
+
+    @Test
+    void available() {
+        //测试 classpath 上包含全部可选 dataformat 模块
+        for (WireFormat format : WireFormat.values()) {
+            assertTrue(format.available(), format.name());
+        }
+    }
+
+    @Test
+    void badBody() {
+        assertThrows(ClientException.class, () -> WireFormat.CBOR.decodeObject(Buffer.buffer("{not cbor")));
+    }
+
+    @Test
+    void lookup() {
+        assertEquals(WireFormat.MSGPACK, WireFormat.of("application/x-msgpack"));
+        assertEquals(WireFormat.CBOR, WireFormat.of("Application/CBOR; charset=binary"));
+        assertNull(WireFormat.of("text/plain"));
+    }
+
+    @Test
+    void negotiate() {
+        ContentNegotiator negotiator = new ContentNegotiator(WireFormat.JSON, EnumSet.allOf(WireFormat.class));
+        assertEquals(WireFormat.JSON, negotiator.negotiate(null));
+        assertEquals(WireFormat.JSON, negotiator.negotiate("*/*"));
+        assertEquals(WireFormat.JSON, negotiator.negotiate("text/html"));
+        assertEquals(WireFormat.CBOR, negotiator.negotiate("application/cbor"));
+        assertEquals(WireFormat.SMILE, negotiator.negotiate("application/json;q=0.5, application/x-jackson-smile"));
+        assertEquals(WireFormat.JSON, negotiator.negotiate("application/msgpack;q=0.2, */*;q=0.8"));
+
+        ContentNegotiator jsonOnly = new ContentNegotiator(WireFormat.JSON, EnumSet.of(WireFormat.JSON));
+        assertEquals(WireFormat.JSON, jsonOnly.negotiate("application/cbor"));
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.handler;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.client.HttpRequest;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+@ExtendWith(VertxExtension.class)
+class StaticAssetHandlerTest {
+
+    //StaticHandler 只接受相对路径
+    private final static String ROOT = "target/static-asset-test";
+
+    private final static String CONTENT = "static asset content";
+
+    private WebClient client;
+
+    private int port;
+
+    @BeforeEach
+    void startServer(Vertx vertx, VertxTestContext testContext) throws IOException {
+        Path root = Paths.get(ROOT);
+        Files.createDirectories(root);
+        Files.writeString(root.resolve("app.txt"), CONTENT);
+        //预压缩文件只用于区分选中的编码，内容不需要真实压缩
+        Files.writeString(root.resolve("app.txt.gz"), "gzip variant");
+        Files.writeString(root.resolve("app.txt.br"), "br variant");
+        Files.writeString(root.resolve("app.3f2a9c1b.js"), "console.log(1);");
+
+        JsonObject config = new JsonObject().put("root", ROOT).put("maxAgeSeconds", 60);
+        Router router = Router.router(vertx);
+        router.route(StaticAssetHandler.mountPath(config) + "/*").handler(StaticAssetHandler.create(vertx, config));
+        client = WebClient.create(vertx);
+        vertx.createHttpServer().requestHandler(router).listen(0)
+                .onSuccess(server -> {
+                    port = server.actualPort();
+                    testContext.completeNow();
+                })
+                .onFailure(testContext::failNow);
+    }
+
+    private Future<HttpResponse<Buffer>> get(String path, String header, String value) {
+        HttpRequest<Buffer> request = client.get(port, "localhost", path);
+        if (header != null) {
+            request.putHeader(header, value);
+        }
+        return request.send();
+    }
+
+    @Test
+    void etagAndNotModified(VertxTestContext testContext) {
+        get("/static/app.txt", null, null)
+                .compose(resp -> {
+                    Assertions.assertEquals(200, resp.statusCode());
+                    Assertions.assertEquals(CONTENT, resp.bodyAsString());
+                    Assertions.assertNull(resp.getHeader("Content-Encoding"));
+                    Assertions.assertEquals("public, max-age=60", resp.getHeader("Cache-Control"));
+                    Assertions.assertEquals("Accept-Encoding", resp.getHeader("Vary"));
+                    String etag = resp.getHeader("ETag");
+                    //内存中的文件以内容哈希作为强 ETag
+                    Assertions.assertTrue(etag.startsWith("\"") && etag.endsWith("\""), etag);
+                    return get("/static/app.txt", "If-None-Match", etag);
+                })
+                .onSuccess(resp -> testContext.verify(() -> {
+                    Assertions.assertEquals(304, resp.statusCode());
+                    testContext.completeNow();
+                }))
+                .onFailure(testContext::failNow);
+    }
+
+    @Test
+    void fingerprintedIsImmutable(VertxTestContext testContext) {
+        get("/static/app.3f2a9c1b.js", null, null)
+                .onSuccess(resp -> testContext.verify(() -> {
+                    Assertions.assertEquals(200, resp.statusCode());
+                    Assertions.assertEquals("public, max-age=31536000, immutable", resp.getHeader("Cache-Control"));
+                    Assertions.assertTrue(resp.getHeader("Content-Type").startsWith("text/javascript"));
+                    testContext.completeNow();
+                }))
+                .onFailure(testContext::failNow);
+    }
+
+    @Test
+    void selectVariant(VertxTestContext testContext) {
+        get("/static/app.txt", "Accept-Encoding", "gzip, br")
+                .compose(resp -> {
+                    //q 值相同，br 优先
+                    Assertions.assertEquals("br", resp.getHeader("Content-Encoding"));
+                    Assertions.assertEquals("br variant", resp.bodyAsString());
+                    Assertions.assertTrue(resp.getHeader("ETag").endsWith("-br\""));
+                    return get("/static/app.txt", "Accept-Encoding", "br;q=0, gzip");
+                })
+                .compose(resp -> {
+                    Assertions.assertEquals("gzip", resp.getHeader("Content-Encoding"));
+                    Assertions.assertEquals("gzip variant", resp.bodyAsString());
+                    Assertions.assertTrue(resp.getHeader("ETag").endsWith("-gzip\""));
+                    return get("/static/app.txt", "Accept-Encoding", "*, br;q=0");
+                })
+                .compose(resp -> {
+                    Assertions.assertEquals("gzip", resp.getHeader("Content-Encoding"));
+                    //q 值高的优先
+                    return get("/static/app.txt", "Accept-Encoding", "br;q=0.1, gzip;q=1");
+                })
+                .compose(resp -> {
+                    Assertions.assertEquals("gzip", resp.getHeader("Content-Encoding"));
+                    //q 值相同时 br 优先
+                    return get("/static/app.txt", "Accept-Encoding", "gzip;q=0.5, br;q=0.5");
+                })
+                .compose(resp -> {
+                    Assertions.assertEquals("br", resp.getHeader("Content-Encoding"));
+                    return get("/static/app.txt", "Accept-Encoding", "br;q=0, gzip;q=0");
+                })
+                .onSuccess(resp -> testContext.verify(() -> {
+                    Assertions.assertNull(resp.getHeader("Content-Encoding"));
+                    Assertions.assertEquals(CONTENT, resp.bodyAsString());
+                    testContext.completeNow();
+                }))
+                .onFailure(testContext::failNow);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.impl;
+
+import com.github.lcnap.vertx.webmvc.handler.ConcurrencyLimitHandler;
+import com.github.lcnap.vertx.webmvc.handler.RateLimitHandler;
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuntimeConfigTest {
+
+    @Test
+    void notifiesChangedSections() {
+        RuntimeConfig config = new RuntimeConfig();
+        config.init(new JsonObject()
+                .put("accessLog", new JsonObject().put("sampleRate", 1.0))
+                .put("rateLimit", new JsonObject().put("permits", 10)));
+
+        List<JsonObject> accessLog = new ArrayList<>();
+        List<JsonObject> rateLimit = new ArrayList<>();
+        config.onChange("accessLog", accessLog::add);
+        config.onChange("rateLimit", rateLimit::add);
+        config.onChange("caches", c -> {
+            throw new IllegalArgumentException("bad");
+        });
+
+        config.apply(new JsonObject()
+                .put("accessLog", new JsonObject().put("sampleRate", 0.1))
+                .put("rateLimit", new JsonObject().put("permits", 10))
+                .put("caches", new JsonObject()));
+
+        assertEquals(List.of(new JsonObject().put("sampleRate", 0.1)), accessLog);
+        assertTrue(rateLimit.isEmpty());
+        assertEquals(0.1, config.current().getJsonObject("accessLog").getDouble("sampleRate"));
+
+        //删除的节点回调空对象
+        config.apply(new JsonObject().put("caches", new JsonObject()));
+        assertEquals(new JsonObject(), rateLimit.get(0));
+    }
+
+    @Test
+    void overlaysSystemProperties() {
+        System.setProperty("webmvc.config.accessLog.sampleRate", "0.25");
+        System.setProperty("webmvc.config.reload.note", "text");
+        try {
+            JsonObject file = new JsonObject().put("accessLog", new JsonObject().put("sampleRate", 1.0)).put("port", 8081);
+            JsonObject result = RuntimeConfig.overlay(file);
+            assertEquals(0.25, result.getJsonObject("accessLog").getDouble("sampleRate"));
+            assertEquals("text", result.getJsonObject("reload").getString("note"));
+            assertEquals(8081, result.getInteger("port"));
+            //不修改原配置
+            assertEquals(1.0, file.getJsonObject("accessLog").getDouble("sampleRate"));
+        } finally {
+            System.clearProperty("webmvc.config.accessLog.sampleRate");
+            System.clearProperty("webmvc.config.reload.note");
+        }
+    }
+
+    @Test
+    void enableAndDisableLimits() {
+        RuntimeConfig config = new RuntimeConfig();
+        config.init(new JsonObject());
+        RateLimitHandler rateLimit = RateLimitHandler.create((JsonObject) null);
+        ConcurrencyLimitHandler concurrencyLimit = ConcurrencyLimitHandler.create("/runtime", null);
+        config.onChange("rateLimit", rateLimit::reconfigure);
+        config.onChange("concurrencyLimit", concurrencyLimit::reconfigure);
+        assertFalse(rateLimit.enabled());
+        assertNull(concurrencyLimit.limiter());
+
+        //启动时没有的节点在运行时加上
+        config.apply(new JsonObject()
+                .put("rateLimit", new JsonObject().put("permits", 10))
+                .put("concurrencyLimit", new JsonObject().put("initialLimit", 5)));
+        assertTrue(rateLimit.enabled());
+        assertEquals(5, concurrencyLimit.limiter().limit());
+
+        config.apply(new JsonObject()
+                .put("rateLimit", new JsonObject().put("permits", 10))
+                .put("concurrencyLimit", new JsonObject().put("maxLimit", 3)));
+        assertEquals(3, concurrencyLimit.limiter().limit());
+
+        //删除后都不再限制
+        config.apply(new JsonObject());
+        assertFalse(rateLimit.enabled());
+        assertNull(concurrencyLimit.limiter());
+    }
+}
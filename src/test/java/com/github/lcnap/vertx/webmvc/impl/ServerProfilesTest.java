@@ -0,0 +1,47 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.impl;
+
+import com.github.lcnap.vertx.webmvc.ServerException;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerProfilesTest {
+
+    @Test
+    void explicitConfigWins() {
+        JsonObject config = new JsonObject().put("profile", "latency").put("port", 8080).put("acceptBacklog", 128);
+        HttpServerOptions options = new HttpServerOptions(ServerProfiles.resolve(config));
+
+        assertTrue(options.isTcpNoDelay());
+        assertTrue(options.isReusePort());
+        assertEquals(128, options.getAcceptBacklog());
+        assertEquals(8080, options.getPort());
+    }
+
+    @Test
+    void customProfile() {
+        JsonObject config = new JsonObject()
+                .put("profile", "edge")
+                .put("profiles", new JsonObject().put("edge", new JsonObject().put("idleTimeout", 5)));
+        assertEquals(5, new HttpServerOptions(ServerProfiles.resolve(config)).getIdleTimeout());
+
+        assertThrows(ServerException.class, () -> ServerProfiles.resolve(new JsonObject().put("profile", "none")));
+    }
+}
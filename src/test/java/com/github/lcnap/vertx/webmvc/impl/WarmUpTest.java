@@ -0,0 +1,122 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.impl;
+
+import com.github.lcnap.vertx.webmvc.HttpHandler;
+import com.github.lcnap.vertx.webmvc.HttpMethod;
+import com.github.lcnap.vertx.webmvc.Param;
+import com.github.lcnap.vertx.webmvc.WebApplication;
+import com.github.lcnap.vertx.webmvc.annotation.RoutePlan;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(VertxExtension.class)
+class WarmUpTest {
+
+    //测试应用会扫描到这里，挂在单独的路径下
+    @HttpHandler(path = "/warm")
+    public static class Handlers {
+
+        //预热期间 readiness 的状态码
+        static final AtomicInteger readiness = new AtomicInteger();
+
+        @HttpHandler(path = "/probe", method = HttpMethod.GET)
+        public Future<String> probe(WebClient client) {
+            return client.get(8081, "localhost", "/admin/ready").send()
+                    .map(resp -> {
+                        readiness.set(resp.statusCode());
+                        return resp.bodyAsString();
+                    });
+        }
+
+        @HttpHandler(path = "/item/:id")
+        public String item(long id, @Param(limit = {"asc", "desc"}) String order, @Param(defaultValue = "20") int size, boolean flag) {
+            return "";
+        }
+
+        @HttpHandler(path = "/save", method = HttpMethod.POST)
+        public String save(String name) {
+            return "";
+        }
+
+        @HttpHandler(path = "/upload", method = HttpMethod.GET)
+        public String upload(Buffer body) {
+            return "";
+        }
+    }
+
+    private static RoutePlan plan(String name) {
+        for (Method method : Handlers.class.getDeclaredMethods()) {
+            if (method.getName().equals(name) && method.isAnnotationPresent(HttpHandler.class)) {
+                HttpHandler annotation = method.getAnnotation(HttpHandler.class);
+                return new RoutePlan(Handlers.class, method, Handlers::new, annotation, "/w" + annotation.path(), null, null);
+            }
+        }
+        throw new IllegalArgumentException(name);
+    }
+
+    @Test
+    void generateFromParameterTypes() {
+        JsonObject request = WarmUp.generate(plan("item"));
+        assertEquals("/w/item/1", request.getString("path"));
+        JsonObject params = request.getJsonObject("params");
+        assertEquals("asc", params.getString("order"));
+        assertEquals("20", params.getString("size"));
+        assertEquals("true", params.getString("flag"));
+        assertFalse(params.containsKey("id"));
+    }
+
+    @Test
+    void skipUnsafeRoutes() {
+        assertNull(WarmUp.generate(plan("save")));
+        assertNull(WarmUp.generate(plan("upload")));
+    }
+
+    @Test
+    void notReadyUntilWarmedUp(Vertx vertx, VertxTestContext testContext) {
+        System.setProperty("webmvc.config.warmup",
+                "{\"generate\":false,\"iterations\":1,\"concurrency\":1,\"requests\":[{\"path\":\"/warm/probe\"}]}");
+        WebApplicationImpl application = new WebApplicationImpl(vertx, WebApplication.class);
+        Future<HttpServer> run;
+        try {
+            run = application.run();
+        } finally {
+            //配置在 run 开始时已读取
+            System.clearProperty("webmvc.config.warmup");
+        }
+        run.onSuccess(server -> testContext.verify(() -> {
+                    //预热请求执行时已在监听，但还没有就绪
+                    assertEquals(503, Handlers.readiness.get());
+                    assertEquals(WebApplication.State.READY, application.state());
+                    assertTrue(application.startupReport().toJson().getJsonObject("phases").containsKey("warmup"));
+                    testContext.completeNow();
+                }))
+                .onFailure(testContext::failNow);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.impl;
+
+import com.github.lcnap.vertx.webmvc.WebApplication;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@ExtendWith(VertxExtension.class)
+class WebApplicationImplTest {
+
+    //启动后添加的路由仍然可以读取请求体
+    @Test
+    void rootRouterRoutesReadBody(Vertx vertx, VertxTestContext testContext) {
+        WebApplicationImpl application = new WebApplicationImpl(vertx, WebApplication.class);
+        application.run()
+                .compose(server -> {
+                    application.rootRouter().post("/custom/echo").handler(rc -> rc.end(rc.body().buffer()));
+                    return WebClient.create(vertx).post(8081, "localhost", "/custom/echo")
+                            .sendBuffer(Buffer.buffer("echo"));
+                })
+                .onSuccess(resp -> testContext.verify(() -> {
+                    Assertions.assertEquals(200, resp.statusCode());
+                    Assertions.assertEquals("echo", resp.bodyAsString());
+                    testContext.completeNow();
+                }))
+                .onFailure(testContext::failNow);
+    }
+
+    //扫描出的路由（含 @Cacheable）都能挂载，服务可以启动并命中缓存
+    @Test
+    void cachedRouteServes(Vertx vertx, VertxTestContext testContext) {
+        WebApplicationImpl application = new WebApplicationImpl(vertx, WebApplication.class);
+        WebClient client = WebClient.create(vertx);
+        application.run()
+                .compose(server -> client.get(8081, "localhost", "/main/cached?id=cached-route").send())
+                .compose(first -> client.get(8081, "localhost", "/main/cached?id=cached-route").send()
+                        .onSuccess(second -> testContext.verify(() -> {
+                            Assertions.assertEquals(200, first.statusCode());
+                            Assertions.assertEquals(200, second.statusCode());
+                            Assertions.assertEquals(first.bodyAsJsonObject().getInteger("calls"),
+                                    second.bodyAsJsonObject().getInteger("calls"));
+                            testContext.completeNow();
+                        })))
+                .onFailure(testContext::failNow);
+    }
+
+    //由框架创建 Vertx 时各阶段都有记录，且按完成顺序排列
+    @Test
+    void startupReportPhases(VertxTestContext testContext) {
+        WebApplicationImpl application = WebApplicationImpl.create(WebApplication.class);
+        application.run()
+                .onComplete(ar -> {
+                    testContext.verify(() -> {
+                        Assertions.assertTrue(ar.succeeded());
+                        JsonObject report = application.startupReport().toJson();
+                        List<String> phases = new ArrayList<>(report.getJsonObject("phases").fieldNames());
+                        Assertions.assertEquals(List.of("vertx", "config", "router", "scan", "prepare", "listen"), phases);
+                        Assertions.assertTrue(report.getLong("jvmUptimeAtReady") > 0);
+                    });
+                    application.vertx().close().onComplete(v -> testContext.completeNow());
+                });
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private final static long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void burstThenRefill() {
+        //每秒 5 个，突发 5 个
+        RateLimiter limiter = new RateLimiter(5, SECOND, 0, 100);
+        long now = 1_000_000_000L;
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.acquire("a", now));
+        }
+        long wait = limiter.acquire("a", now);
+        assertEquals(SECOND / 5, wait);
+
+        //其他键不受影响
+        assertEquals(0, limiter.acquire("b", now));
+        //等待一个间隔后恢复一个许可
+        assertEquals(0, limiter.acquire("a", now + wait));
+        assertTrue(limiter.acquire("a", now + wait) > 0);
+    }
+
+    @Test
+    void evictWhenFull() {
+        RateLimiter limiter = new RateLimiter(1, SECOND, 1, 2);
+        long now = 0;
+        assertEquals(0, limiter.acquire("a", now));
+        assertTrue(limiter.acquire("a", now) > 0);
+        //大量新键不会让其他客户端被拒绝，键数保持在上限内
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, limiter.acquire("k" + i, now + i));
+            assertTrue(limiter.size() <= 2);
+        }
+        //最久没有请求的键被挤掉，下次按新桶计数
+        assertEquals(0, limiter.acquire("a", now + 100));
+    }
+
+    @Test
+    void evictRefilledFirst() {
+        RateLimiter limiter = new RateLimiter(1, SECOND, 1, 2);
+        assertEquals(0, limiter.acquire("a", 0));
+        assertEquals(0, limiter.acquire("b", SECOND / 2));
+        //a 已回满，被挤掉的是 a 而不是 b
+        assertEquals(0, limiter.acquire("c", SECOND));
+        assertTrue(limiter.acquire("b", SECOND) > 0);
+    }
+
+    @Test
+    void sweep() {
+        RateLimiter limiter = new RateLimiter(1, SECOND, 1, 10);
+        long now = 0;
+        assertEquals(0, limiter.acquire("a", now));
+        assertEquals(0, limiter.acquire("b", now));
+
+        //回满后清除
+        assertEquals(0, limiter.sweep(now + SECOND / 2));
+        assertEquals(2, limiter.sweep(now + SECOND));
+        assertEquals(0, limiter.size());
+    }
+}
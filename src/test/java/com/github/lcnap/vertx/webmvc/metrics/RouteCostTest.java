@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.metrics;
+
+import io.vertx.core.json.JsonArray;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteCostTest {
+
+    @Test
+    void accumulateAcrossThreads() throws InterruptedException {
+        RouteCosts costs = new RouteCosts();
+        RouteCost cheap = costs.register("/cheap");
+        RouteCost heavy = costs.register("/heavy");
+
+        //子线程中的断言失败不会让测试失败，收集后在 join 之后抛出
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    run(cheap, heavy);
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (!failures.isEmpty()) {
+            AssertionError error = new AssertionError("worker thread failed.", failures.peek());
+            failures.stream().skip(1).forEach(error::addSuppressed);
+            throw error;
+        }
+
+        assertEquals(400, cheap.count());
+        assertEquals(400, heavy.count());
+        assertTrue(heavy.allocatedBytes(RouteCost.Phase.INVOCATION) >= 400L * 16 * 1024);
+
+        JsonArray top = costs.top(true, 1);
+        assertEquals(1, top.size());
+        assertEquals("/heavy", top.getJsonObject(0).getString("path"));
+    }
+
+    private static void run(RouteCost cheap, RouteCost heavy) {
+        for (int i = 0; i < 100; i++) {
+            cheap.begin();
+            cheap.phase(RouteCost.Phase.BINDING);
+            cheap.phase(RouteCost.Phase.INVOCATION);
+            cheap.phase(RouteCost.Phase.SERIALIZATION);
+
+            heavy.begin();
+            heavy.phase(RouteCost.Phase.BINDING);
+            List<byte[]> garbage = new ArrayList<>();
+            for (int j = 0; j < 16; j++) {
+                garbage.add(new byte[1024]);
+            }
+            heavy.phase(RouteCost.Phase.INVOCATION);
+            assertEquals(16, garbage.size());
+            heavy.phase(RouteCost.Phase.SERIALIZATION);
+        }
+    }
+
+    //绑定或调用失败的请求不计次数，也不计入已完成阶段的消耗
+    @Test
+    void ignoreFailedRequests() {
+        RouteCost cost = new RouteCost("/failed");
+        cost.begin();
+        List<byte[]> garbage = new ArrayList<>();
+        for (int j = 0; j < 16; j++) {
+            garbage.add(new byte[1024]);
+        }
+        cost.phase(RouteCost.Phase.BINDING);
+        assertEquals(16, garbage.size());
+        assertEquals(0, cost.count());
+        assertEquals(0, cost.allocatedBytes());
+
+        cost.begin();
+        cost.phase(RouteCost.Phase.BINDING);
+        cost.phase(RouteCost.Phase.INVOCATION);
+        cost.phase(RouteCost.Phase.SERIALIZATION);
+        assertEquals(1, cost.count());
+        //上一次失败请求的分配不会带到这一次
+        assertTrue(cost.allocatedBytes() < 16 * 1024);
+    }
+
+    @Test
+    void countVirtualThreads() throws InterruptedException {
+        RouteCost cost = new RouteCost("/v");
+        Thread thread = Thread.ofVirtual().start(() -> {
+            cost.begin();
+            cost.phase(RouteCost.Phase.BINDING);
+            cost.phase(RouteCost.Phase.INVOCATION);
+            cost.phase(RouteCost.Phase.SERIALIZATION);
+        });
+        thread.join();
+        assertEquals(1, cost.count());
+        assertEquals(0, cost.cpuNanos());
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.metrics;
+
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteStatsTest {
+
+    private final static long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void countSlow() {
+        RouteStats stats = new RouteStats("/a", 10 * MS);
+        assertFalse(stats.record(MS));
+        assertTrue(stats.record(20 * MS));
+        assertEquals(2, stats.count());
+        assertEquals(1, stats.slow());
+        assertEquals(20 * MS, stats.maxNanos());
+        assertFalse(stats.offloaded());
+    }
+
+    @Test
+    void offloadWithHysteresis() {
+        OffloadPolicy policy = OffloadPolicy.from(new JsonObject().put("budget", 10).put("resume", 2)
+                .put("alpha", 0.5).put("minSamples", 3), 10);
+        RouteStats stats = new RouteStats("/a", 10 * MS, policy);
+
+        //样本不足时不切换
+        stats.record(40 * MS);
+        stats.record(40 * MS);
+        assertFalse(stats.offloaded());
+        stats.record(40 * MS);
+        assertTrue(stats.offloaded());
+
+        //介于 resume 与 budget 之间保持不变
+        stats.recordOffloaded(5 * MS);
+        stats.recordOffloaded(5 * MS);
+        stats.recordOffloaded(5 * MS);
+        assertTrue(stats.offloaded());
+
+        for (int i = 0; i < 5; i++) {
+            stats.recordOffloaded(0);
+        }
+        assertFalse(stats.offloaded());
+        assertEquals(2, stats.transitions());
+        //卸载期间不计入 event loop 占用
+        assertEquals(3, stats.count());
+    }
+
+    @Test
+    void rejectInvalidPolicy() {
+        assertNull(OffloadPolicy.from(null, 10));
+        assertNull(OffloadPolicy.from(new JsonObject().put("enabled", false), 10));
+        assertThrows(IllegalArgumentException.class, () -> OffloadPolicy.from(new JsonObject().put("resume", 20), 10));
+        assertThrows(IllegalArgumentException.class, () -> OffloadPolicy.from(new JsonObject().put("executor", "pool"), 10));
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.offload;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvocationCodecTest {
+
+    public static class Bean {
+        public int code = 7;
+        public String msg = "消息";
+    }
+
+    public enum Color {
+        RED, GREEN
+    }
+
+    public static class Handler {
+        public void handle(int[] ids, long[] longs, String[] names, List<Integer> list, Set<String> set, List<Bean> beans,
+                           LocalDate day, Date date, Color color, BigDecimal amount, Bean bean) {
+        }
+    }
+
+    private static Invocation wire(Object[] values) {
+        InvocationCodec codec = new InvocationCodec();
+        Buffer wire = Buffer.buffer();
+        codec.encodeToWire(wire, new Invocation(values));
+        return codec.decodeFromWire(0, wire);
+    }
+
+    @Test
+    void restoreDeclaredTypes() throws NoSuchMethodException {
+        Method method = Handler.class.getMethod("handle", int[].class, long[].class, String[].class, List.class, Set.class,
+                List.class, LocalDate.class, Date.class, Color.class, BigDecimal.class, Bean.class);
+        Object[] values = {new int[]{1, 2}, new long[]{3L}, new String[]{"a", "b"}, List.of(4, 5), Set.of("s"),
+                List.of(new Bean()), LocalDate.of(2026, 1, 24), new Date(1_700_000_000_000L), Color.GREEN,
+                new BigDecimal("1.50"), new Bean()};
+
+        Invocation decoded = wire(values);
+        Parameter[] parameters = method.getParameters();
+        Object[] args = new Object[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            args[i] = InvocationCodec.restore(parameters[i].getType(), parameters[i].getParameterizedType(), decoded.value(i));
+            assertTrue(parameters[i].getType().isInstance(args[i]), parameters[i].getName());
+        }
+
+        assertArrayEquals(new int[]{1, 2}, (int[]) args[0]);
+        assertArrayEquals(new long[]{3L}, (long[]) args[1]);
+        assertArrayEquals(new String[]{"a", "b"}, (String[]) args[2]);
+        assertEquals(List.of(4, 5), args[3]);
+        assertEquals(Set.of("s"), args[4]);
+        assertEquals(7, ((List<Bean>) args[5]).get(0).code);
+        assertEquals(LocalDate.of(2026, 1, 24), args[6]);
+        assertEquals(new Date(1_700_000_000_000L), args[7]);
+        assertEquals(Color.GREEN, args[8]);
+        assertEquals(new BigDecimal("1.50"), args[9]);
+        assertEquals("消息", ((Bean) args[10]).msg);
+
+        //参数可以直接用于反射调用
+        assertDoesNotThrow(() -> method.invoke(new Handler(), args));
+    }
+
+    @Test
+    void encodeObjectArray() {
+        Invocation decoded = wire(new Object[]{new Object[]{1, "a", new Bean()}});
+        assertEquals(new JsonArray().add(1).add("a").add(new JsonObject().put("code", 7).put("msg", "消息")), decoded.value(0));
+    }
+
+    @Test
+    void structuredValuesAreBinary() {
+        InvocationCodec codec = new InvocationCodec();
+        Buffer wire = Buffer.buffer();
+        codec.encodeToWire(wire, new Invocation(new Object[]{new Bean(), Map.of("key", List.of(1, 2))}));
+        //CBOR 编码，帧中没有 JSON 文本
+        String text = wire.toString(StandardCharsets.ISO_8859_1);
+        assertFalse(text.contains("\"msg\""), text);
+        assertFalse(text.contains("\"key\""), text);
+
+        Invocation decoded = codec.decodeFromWire(0, wire);
+        assertEquals(new JsonObject().put("code", 7).put("msg", "消息"), decoded.value(0));
+        assertEquals(new JsonObject().put("key", new JsonArray().add(1).add(2)), decoded.value(1));
+    }
+
+    @Test
+    void roundTrip() {
+        InvocationCodec codec = new InvocationCodec();
+        Object[] values = {null, "中文", 1, 2L, 3.5d, 4.5f, true, (short) 6, (byte) 7,
+                Buffer.buffer(new byte[]{1, 2, 3}), new JsonObject().put("a", 1), new JsonArray().add("b"),
+                List.of(1, 2), Map.of("k", "v"), new Bean()};
+
+        Buffer wire = Buffer.buffer("prefix");
+        codec.encodeToWire(wire, new Invocation(values));
+        Invocation decoded = codec.decodeFromWire(6, wire);
+
+        assertEquals(values.length, decoded.size());
+        for (int i = 0; i < 12; i++) {
+            assertEquals(values[i], decoded.value(i));
+        }
+        assertEquals(new JsonArray().add(1).add(2), decoded.value(12));
+        assertEquals(new JsonObject().put("k", "v"), decoded.value(13));
+        assertEquals(new JsonObject().put("code", 7).put("msg", "消息"), decoded.value(14));
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.push;
+
+import com.github.lcnap.vertx.webmvc.Overflow;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.function.Predicate;
+
+@ExtendWith(VertxExtension.class)
+class BroadcasterTest {
+
+    //远大于订阅者的写队列上限，客户端不读时很快写满
+    private final static String LARGE = "x".repeat(64 * 1024);
+
+    private Broadcaster broadcaster;
+
+    private int port;
+
+    @BeforeEach
+    void startServer(Vertx vertx, VertxTestContext testContext) {
+        broadcaster = new Broadcaster(vertx, 0);
+        Router router = Router.router(vertx);
+        router.get("/drop").handler(rc -> broadcaster.subscribe("drop", rc.response(), 1024, Overflow.DROP));
+        router.get("/disconnect").handler(rc -> broadcaster.subscribe("disconnect", rc.response(), 1024, Overflow.DISCONNECT));
+        vertx.createHttpServer().requestHandler(router).listen(0)
+                .onSuccess(server -> {
+                    port = server.actualPort();
+                    testContext.completeNow();
+                })
+                .onFailure(testContext::failNow);
+    }
+
+    //客户端暂停读取后持续推送，直到 check 返回 true
+    private void flood(Vertx vertx, VertxTestContext testContext, String topic, Predicate<JsonObject> check) {
+        HttpClient client = vertx.createHttpClient();
+        client.request(HttpMethod.GET, port, "localhost", "/" + topic)
+                .compose(HttpClientRequest::send)
+                .onSuccess(resp -> {
+                    resp.pause();
+                    vertx.setPeriodic(5, id -> {
+                        JsonObject stats = broadcaster.stats();
+                        if (check.test(stats)) {
+                            vertx.cancelTimer(id);
+                            testContext.completeNow();
+                            return;
+                        }
+                        for (int i = 0; i < 4; i++) {
+                            broadcaster.publish(topic, LARGE);
+                        }
+                    });
+                })
+                .onFailure(testContext::failNow);
+    }
+
+    @Test
+    void drop(Vertx vertx, VertxTestContext testContext) {
+        flood(vertx, testContext, "drop", stats -> {
+            if (stats.getLong("dropped") == 0) {
+                return false;
+            }
+            //丢弃消息，连接保留
+            testContext.verify(() -> {
+                Assertions.assertEquals(1, stats.getInteger("subscribers"));
+                Assertions.assertEquals(0, stats.getLong("disconnected"));
+            });
+            return true;
+        });
+    }
+
+    @Test
+    void disconnect(Vertx vertx, VertxTestContext testContext) {
+        flood(vertx, testContext, "disconnect", stats -> {
+            //断开后订阅随连接关闭移除
+            if (stats.getLong("disconnected") == 0 || stats.getInteger("subscribers") != 0) {
+                return false;
+            }
+            testContext.verify(() -> Assertions.assertEquals(0, stats.getLong("dropped")));
+            return true;
+        });
+    }
+
+    @Test
+    void closeEndsSubscriptions(Vertx vertx, VertxTestContext testContext) {
+        HttpClient client = vertx.createHttpClient();
+        client.request(HttpMethod.GET, port, "localhost", "/drop")
+                .compose(HttpClientRequest::send)
+                .onSuccess(resp -> {
+                    resp.endHandler(v -> testContext.verify(() -> {
+                        Assertions.assertEquals(0, broadcaster.stats().getInteger("subscribers"));
+                        testContext.completeNow();
+                    }));
+                    broadcaster.close();
+                })
+                .onFailure(testContext::failNow);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.lcnap.vertx.webmvc.template;
+
+import freemarker.cache.NullCacheStorage;
+import freemarker.template.Configuration;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.web.templ.freemarker.FreeMarkerTemplateEngine;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.Map;
+
+@ExtendWith(VertxExtension.class)
+class TemplateRendererTest {
+
+    private final static Map<String, Object> DATA = Map.of("title", "标题", "code", 200, "msg", "ok");
+
+    @Test
+    void renderWithoutPrecompile(Vertx vertx, VertxTestContext testContext) {
+        TemplateRenderer renderer = new TemplateRenderer(vertx, FreeMarkerTemplateEngine.create(vertx), 8);
+        Assertions.assertFalse(renderer.isCompiled("home"));
+
+        //事件循环上首次渲染，转到 worker 编译
+        renderOnEventLoop(vertx, renderer)
+                .onComplete(testContext.succeeding(html -> testContext.verify(() -> {
+                    assertHome(html);
+                    Assertions.assertTrue(renderer.isCompiled("home"));
+                    testContext.completeNow();
+                })));
+    }
+
+    @Test
+    void renderPrecompiled(Vertx vertx, VertxTestContext testContext) {
+        TemplateRenderer renderer = new TemplateRenderer(vertx, FreeMarkerTemplateEngine.create(vertx), 8);
+        Assertions.assertTrue(renderer.precompile() >= 1);
+        Assertions.assertTrue(renderer.isCompiled("home"));
+        Assertions.assertTrue(renderer.isCompiled("home.ftl"));
+
+        //已编译，事件循环上直接渲染
+        renderOnEventLoop(vertx, renderer)
+                .onComplete(testContext.succeeding(html -> testContext.verify(() -> {
+                    assertHome(html);
+                    testContext.completeNow();
+                })));
+    }
+
+    //编译后的模板只保存在渲染器的 LRU 中
+    @Test
+    void freeMarkerCacheDisabled(Vertx vertx) {
+        FreeMarkerTemplateEngine engine = FreeMarkerTemplateEngine.create(vertx);
+        new TemplateRenderer(vertx, engine, 8);
+        Configuration configuration = (Configuration) engine.unwrap();
+        Assertions.assertInstanceOf(NullCacheStorage.class, configuration.getCacheStorage());
+    }
+
+    @Test
+    void missingTemplate(Vertx vertx, VertxTestContext testContext) {
+        TemplateRenderer renderer = new TemplateRenderer(vertx, FreeMarkerTemplateEngine.create(vertx), 8);
+        renderer.precompile();
+
+        renderOnEventLoop(vertx, renderer, "missing")
+                .onComplete(testContext.failing(e -> testContext.verify(() -> {
+                    Assertions.assertFalse(renderer.isCompiled("missing"));
+                    testContext.completeNow();
+                })));
+    }
+
+    private static Future<Buffer> renderOnEventLoop(Vertx vertx, TemplateRenderer renderer) {
+        return renderOnEventLoop(vertx, renderer, "home");
+    }
+
+    private static Future<Buffer> renderOnEventLoop(Vertx vertx, TemplateRenderer renderer, String template) {
+        return Future.<Future<Buffer>>future(promise -> vertx.runOnContext(v -> promise.complete(renderer.render(DATA, template))))
+                .compose(f -> f);
+    }
+
+    private static void assertHome(Buffer html) {
+        String text = html.toString();
+        Assertions.assertTrue(text.contains("<title>标题</title>"), text);
+        Assertions.assertTrue(text.contains("<p>200</p>"), text);
+        Assertions.assertTrue(text.contains("<p>ok</p>"), text);
+    }
+}
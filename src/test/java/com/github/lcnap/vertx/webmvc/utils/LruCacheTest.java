@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 lcnap
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.lcnap.vertx.webmvc.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LruCacheTest {
+
+    @Test
+    void evictLeastRecentlyUsed() {
+        LruCache<String, String> cache = new LruCache<>(2);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        //访问 a 后，b 最久未用
+        assertEquals("1", cache.get("a"));
+        cache.put("c", "3");
+
+        assertNull(cache.get("b"));
+        assertEquals("1", cache.get("a"));
+        assertEquals("3", cache.get("c"));
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.evictions());
+        assertEquals(3, cache.hits());
+        assertEquals(1, cache.misses());
+    }
+
+    @Test
+    void evictByWeight() {
+        LruCache<String, byte[]> cache = new LruCache<>(10, v -> v.length);
+        cache.put("a", new byte[4]);
+        cache.put("b", new byte[4]);
+        cache.put("c", new byte[4]);
+
+        assertNull(cache.get("a"));
+        assertEquals(8, cache.weight());
+
+        cache.put("b", new byte[1]);
+        assertEquals(5, cache.weight());
+    }
+
+    @Test
+    void removeIf() {
+        LruCache<String, byte[]> cache = new LruCache<>(10, v -> v.length);
+        cache.put("a", new byte[2]);
+        cache.put("b", new byte[3]);
+        cache.removeIf((k, v) -> k.equals("a"));
+
+        assertFalse(cache.containsKey("a"));
+        assertEquals(3, cache.weight());
+        assertEquals(0, cache.evictions());
+    }
+}